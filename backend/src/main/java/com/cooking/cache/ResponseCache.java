@@ -0,0 +1,157 @@
+package com.cooking.cache;
+
+import com.cooking.event.CatalogChangedEvent;
+import com.cooking.event.RecipeChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache des réponses JSON déjà sérialisées des lectures publiques (recette, listes, statistiques).
+ * Borné en octets (politique W-TinyLFU de Caffeine) ; sur un défaut, un seul calcul par clé,
+ * les requêtes concurrentes sur la même clé attendent son résultat. Le calcul se fait dans le thread
+ * de la requête, hors de tout verrou du cache : seule une promesse vide y est installée.
+ *
+ * Chaque clé porte la version lue avant le calcul (version de la recette, version du catalogue) :
+ * un calcul concurrent d'une écriture ne peut donc jamais être servi après elle, et une entrée
+ * d'une version dépassée n'est plus jamais lue. Les listes et statistiques ne sont donc pas retirées
+ * à chaque écriture, leurs anciennes versions vieillissent et sortent ; seules les entrées de la
+ * recette modifiée sont retirées aussitôt (index des clés par recette).
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * Clé de cache : groupe ("recipe:12", "list", "stats") et variante
+     * (version, chemin et paramètres de la requête...)
+     */
+    public record Key(String group, String variant) {
+
+        private static final String RECIPE_GROUP = "recipe:";
+        private static final String LIST_GROUP = "list";
+        private static final String STATS_GROUP = "stats";
+
+        public static Key recipe(Long recipeId, String variant) {
+            return new Key(RECIPE_GROUP + recipeId, variant);
+        }
+
+        public static Key list(String variant) {
+            return new Key(LIST_GROUP, variant);
+        }
+
+        public static Key stats(String variant) {
+            return new Key(STATS_GROUP, variant);
+        }
+
+        boolean isRecipe() {
+            return group.startsWith(RECIPE_GROUP);
+        }
+
+        int weight() {
+            return 2 * (group.length() + variant.length());
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<Key, byte[]> cache;
+    // Clés en cache de chaque recette ("recipe:12" → variantes), tenu à jour par le listener de retrait
+    private final Map<String, Set<Key>> recipeKeys = new ConcurrentHashMap<>();
+
+    public ResponseCache(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.response-cache.max-bytes:33554432}") long maxBytes,
+                         @Value("${app.response-cache.expire-after-access:PT10M}") Duration expireAfterAccess) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Key key, byte[] body) -> body.length + key.weight())
+            .expireAfterAccess(expireAfterAccess)
+            .removalListener((Key key, byte[] body, RemovalCause cause) -> forget(key))
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responses");
+    }
+
+    /**
+     * Réponse sérialisée pour la clé, calculée (une seule fois à la fois) si absente.
+     * Les exceptions du calcul sont propagées telles quelles (aux requêtes qui l'attendaient aussi)
+     * et rien n'est mis en cache.
+     */
+    public byte[] get(Key key, Supplier<?> body) {
+        CompletableFuture<byte[]> loading = new CompletableFuture<>();
+        CompletableFuture<byte[]> cached = cache.get(key, (k, executor) -> loading);
+        if (cached == loading) {
+            if (key.isRecipe()) {
+                recipeKeys.computeIfAbsent(key.group(), group -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+            try {
+                loading.complete(serialize(body.get()));
+            } catch (RuntimeException | Error e) {
+                // Une promesse en échec est retirée du cache par Caffeine
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        evictRecipe(event.getRecipeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Auteur renommé ou compteurs corrigés : la version d'affichage des recettes concernées a changé
+        if (event.getType() == CatalogChangedEvent.Type.COMMENT) {
+            evictRecipe(event.getId());
+        }
+    }
+
+    private void evictRecipe(Long recipeId) {
+        Set<Key> keys = recipeKeys.remove(Key.recipe(recipeId, "").group());
+        if (keys != null) {
+            cache.synchronous().invalidateAll(keys);
+        }
+    }
+
+    private void forget(Key key) {
+        if (key.isRecipe()) {
+            recipeKeys.computeIfPresent(key.group(), (group, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -4,10 +4,13 @@ import com.cooking.entity.User;
 import com.cooking.entity.Recipe;
 import com.cooking.repository.UserRepository;
 import com.cooking.repository.RecipeRepository;
+import com.cooking.service.IngredientService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -19,14 +22,18 @@ public class DataInitializer {
     private final UserRepository userRepository;
     private final RecipeRepository recipeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final IngredientService ingredientService;
 
-    public DataInitializer(UserRepository userRepository, RecipeRepository recipeRepository, PasswordEncoder passwordEncoder) {
+    public DataInitializer(UserRepository userRepository, RecipeRepository recipeRepository, PasswordEncoder passwordEncoder,
+                           IngredientService ingredientService) {
         this.userRepository = userRepository;
         this.recipeRepository = recipeRepository;
         this.passwordEncoder = passwordEncoder;
+        this.ingredientService = ingredientService;
     }
 
     @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     public void initializeData() {
         if (userRepository.count() == 0) {
             logger.info("🚀 Initialisation des données de test...");
@@ -48,9 +55,11 @@ public class DataInitializer {
 
             // Recettes de test
             Recipe recette1 = new Recipe("Tarte aux pommes", "Délicieuse tarte à base de pommes.", null, null, chef);
+            recette1.setIngredientItems(ingredientService.resolve(recette1.getIngredients()));
             recipeRepository.save(recette1);
 
             Recipe recette2 = new Recipe("Salade César", "Salade fraîche avec poulet et croûtons.", null, null, chef);
+            recette2.setIngredientItems(ingredientService.resolve(recette2.getIngredients()));
             recipeRepository.save(recette2);
 
             logger.info("✅ Recettes de test créées :");
@@ -1,15 +1,42 @@
 package com.cooking.config;
 
+import com.cooking.security.BCryptCostCalibrator;
+import com.cooking.security.BoundedPasswordEncoder;
+import com.cooking.security.CostAwareBCryptPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 @Configuration
 public class PasswordConfig {
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    private static final String BCRYPT = "bcrypt";
+
+    // BCrypt (~250 ms de CPU par appel) tourne sur un pool isolé pour ne pas affamer les workers Tomcat.
+    // Ce pool reste en threads classiques avec spring.threads.virtual.enabled : le travail est CPU pur,
+    // et le thread virtuel de la requête qui attend le résultat libère son porteur.
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${app.security.password-hashing.retry-after-seconds:2}") long retryAfterSeconds,
+            @Value("${app.security.password-hashing.cost:12}") int cost,
+            @Value("${app.security.password-hashing.target-latency-ms:250}") long targetLatencyMs) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int targetCost = cost > 0 ? cost : BCryptCostCalibrator.calibrate(targetLatencyMs);
+
+        // Hashs préfixés {bcrypt} ; les anciens hashs sans préfixe restent vérifiables et sont migrés à la connexion
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT,
+                Map.of(BCRYPT, new CostAwareBCryptPasswordEncoder(targetCost)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, retryAfterSeconds, meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.cooking.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Activation des tâches planifiées (@Scheduled) et des méthodes @Async.
+ * Avec spring.threads.virtual.enabled sur Java 21+, Spring Boot exécute les deux sur des threads virtuels
+ * (SimpleAsyncTaskScheduler et applicationTaskExecutor), comme les requêtes Tomcat.
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
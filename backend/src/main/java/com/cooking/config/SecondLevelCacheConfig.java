@@ -0,0 +1,69 @@
+package com.cooking.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de second niveau d'Hibernate (JCache sur Caffeine, local à l'instance).
+ * Chaque région est créée ici avec sa taille maximale et sa durée de vie (app.cache.*) ;
+ * Hibernate refuse de démarrer si une entité référence une région absente.
+ * Le CacheManager est propre au contexte Spring : le gestionnaire par défaut du provider
+ * est partagé par toute la JVM, un second contexte (tests) y retrouverait les régions du premier.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String RECIPES_REGION = "recipes";
+    // Noms par défaut des régions du cache de requêtes
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${app.cache.users.ttl-seconds:600}") long usersTtlSeconds,
+            @Value("${app.cache.recipes.max-size:10000}") long recipesMaxSize,
+            @Value("${app.cache.recipes.ttl-seconds:600}") long recipesTtlSeconds,
+            @Value("${app.cache.queries.max-size:1000}") long queriesMaxSize,
+            @Value("${app.cache.queries.ttl-seconds:60}") long queriesTtlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+            URI.create("cooking-l2-" + UUID.randomUUID()), SecondLevelCacheConfig.class.getClassLoader());
+        cacheManager.createCache(USERS_REGION, region(usersMaxSize, usersTtlSeconds));
+        cacheManager.createCache(RECIPES_REGION, region(recipesMaxSize, recipesTtlSeconds));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(queriesMaxSize, queriesTtlSeconds));
+        // Horodatage des dernières écritures par table : une entrée par table, ne doit jamais être évincé
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(0, 0));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // 0 = pas de limite de taille / pas d'expiration
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maxSize > 0 ? OptionalLong.of(maxSize) : OptionalLong.empty());
+        configuration.setExpireAfterWrite(ttlSeconds > 0
+            ? OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos())
+            : OptionalLong.empty());
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
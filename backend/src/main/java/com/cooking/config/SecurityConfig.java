@@ -52,6 +52,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
         authProvider.setPasswordEncoder(passwordEncoder); 
+        authProvider.setUserDetailsPasswordService(userService);
         authProvider.setMessageSource(messageSource());
         return authProvider;
     }
@@ -73,12 +74,16 @@ public class SecurityConfig {
                         .requestMatchers("/api/health", "/api/users/count").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // Endpoints API publics pour les recettes (lecture seule)
                         .requestMatchers(HttpMethod.GET, "/api/recipes").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/recipes/{id}").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/recipes/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/recipes/suggest").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/recipes/by-ingredients").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/recipes/pantry").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/recipes/user/{userId}").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/recipes/recent").permitAll()
                         .requestMatchers("/api/recipes/public/**").permitAll()
@@ -3,9 +3,9 @@ package com.cooking.controller;
 import com.cooking.entity.User;
 import com.cooking.security.UserPrincipal;
 import com.cooking.service.AuthService;
-import com.cooking.service.EmailService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
@@ -14,11 +14,9 @@ import java.util.Map;
 public class AuthController {
     
     private final AuthService authService;
-    private final EmailService emailService;
     
-    public AuthController(AuthService authService, EmailService emailService) {
+    public AuthController(AuthService authService) {
         this.authService = authService;
-        this.emailService = emailService;
     }
     
     @PostMapping("/login")
@@ -36,7 +34,7 @@ public class AuthController {
                 ),
                 "message", "Connexion réussie"
             ));
-        } catch (Exception e) {
+        } catch (AuthenticationException | IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of(
                 "error", "Nom d'utilisateur ou mot de passe incorrect",
                 "message", e.getMessage()
@@ -53,15 +51,6 @@ public class AuthController {
                 registerRequest.getPassword()
             );
             
-            // 🎉 ENVOI DE L'EMAIL DE BIENVENUE
-            try {
-                emailService.sendWelcomeEmail(user);
-                System.out.println("📧 Email de bienvenue envoyé à: " + user.getEmail());
-            } catch (Exception emailError) {
-                // Log l'erreur mais ne pas faire échouer l'inscription
-                System.err.println("⚠️ Erreur envoi email de bienvenue à " + user.getEmail() + ": " + emailError.getMessage());
-            }
-            
             return ResponseEntity.ok(Map.of(
                 "message", "Inscription réussie",
                 "user", Map.of(
@@ -71,7 +60,7 @@ public class AuthController {
                     "role", user.getRole().toString()
                 )
             ));
-        } catch (Exception e) {
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of(
                 "error", "Erreur lors de l'inscription",
                 "message", e.getMessage()
@@ -0,0 +1,100 @@
+package com.cooking.controller;
+
+import com.cooking.config.SecondLevelCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistiques du cache de second niveau et du cache de requêtes, pour dimensionner les régions (admin seulement)
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheStatsController {
+
+    private static final List<String> REGIONS = List.of(
+        SecondLevelCacheConfig.USERS_REGION,
+        SecondLevelCacheConfig.RECIPES_REGION,
+        SecondLevelCacheConfig.QUERY_RESULTS_REGION);
+
+    private final Statistics statistics;
+    private final CacheManager hibernateCacheManager;
+
+    public CacheStatsController(EntityManagerFactory entityManagerFactory, CacheManager hibernateCacheManager) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.hibernateCacheManager = hibernateCacheManager;
+    }
+
+    /** Hits, misses et taille de chaque région, puis requêtes mises en cache */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("hits", stats.getHitCount());
+            entry.put("misses", stats.getMissCount());
+            entry.put("puts", stats.getPutCount());
+            entry.put("hitRatio", hitRatio(stats.getHitCount(), stats.getMissCount()));
+            entry.put("size", sizeOf(region));
+            regions.put(region, entry);
+        }
+
+        Map<String, Object> queries = new LinkedHashMap<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics stats = statistics.getQueryStatistics(query);
+            if (stats.getCacheHitCount() + stats.getCacheMissCount() == 0) {
+                continue; // requête non cachable
+            }
+            queries.put(query, Map.of(
+                "hits", stats.getCacheHitCount(),
+                "misses", stats.getCacheMissCount(),
+                "hitRatio", hitRatio(stats.getCacheHitCount(), stats.getCacheMissCount()),
+                "executions", stats.getExecutionCount()));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("since", statistics.getStart().toString());
+        response.put("regions", regions);
+        response.put("queries", queries);
+        return ResponseEntity.ok(response);
+    }
+
+    /** Remise à zéro des compteurs (après un préchauffage, avant une mesure) */
+    @PostMapping("/stats/reset")
+    public ResponseEntity<Map<String, String>> resetStats() {
+        statistics.clear();
+        System.out.println("🔄 Statistiques du cache de second niveau remises à zéro");
+        return ResponseEntity.ok(Map.of("message", "Statistiques remises à zéro"));
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    // Nombre d'entrées (estimation Caffeine), la statistique Hibernate n'étant pas fournie par JCache
+    @SuppressWarnings("unchecked")
+    private long sizeOf(String region) {
+        Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+        if (cache == null) {
+            return -1;
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+}
@@ -0,0 +1,84 @@
+package com.cooking.controller;
+
+import com.cooking.dto.CampaignRequest;
+import com.cooking.dto.CampaignResponse;
+import com.cooking.entity.EmailCampaign;
+import com.cooking.exception.ResourceNotFoundException;
+import com.cooking.security.VerifiedClaims;
+import com.cooking.service.CampaignService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Campagnes d'email vers tous les utilisateurs actifs et vérifiés (admin seulement)
+ */
+@RestController
+@RequestMapping("/api/admin/campaigns")
+@PreAuthorize("hasRole('ADMIN')")
+public class CampaignController {
+
+    private final CampaignService campaignService;
+
+    public CampaignController(CampaignService campaignService) {
+        this.campaignService = campaignService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CampaignResponse>> getCampaigns() {
+        return ResponseEntity.ok(campaignService.getCampaigns().stream().map(CampaignResponse::new).toList());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getCampaign(@PathVariable Long id) {
+        return apply(id, campaignService::getCampaign, null);
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createCampaign(@Valid @RequestBody CampaignRequest request,
+                                            @RequestAttribute(VerifiedClaims.ATTRIBUTE) VerifiedClaims claims) {
+        try {
+            EmailCampaign campaign = campaignService.createCampaign(
+                request.getSubject(), request.getBody(), request.isHtml(), claims.getUsername());
+            System.out.println("📣 Campagne " + campaign.getId() + " créée par " + claims.getUsername());
+            return ResponseEntity.ok(Map.of("message", "Campagne créée", "campaign", new CampaignResponse(campaign)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/start")
+    public ResponseEntity<?> startCampaign(@PathVariable Long id) {
+        return apply(id, campaignService::startCampaign, "Campagne lancée");
+    }
+
+    @PostMapping("/{id}/pause")
+    public ResponseEntity<?> pauseCampaign(@PathVariable Long id) {
+        return apply(id, campaignService::pauseCampaign, "Campagne mise en pause");
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<?> cancelCampaign(@PathVariable Long id) {
+        return apply(id, campaignService::cancelCampaign, "Campagne annulée");
+    }
+
+    private ResponseEntity<?> apply(Long id, Function<Long, EmailCampaign> action, String message) {
+        try {
+            CampaignResponse campaign = new CampaignResponse(action.apply(id));
+            if (message == null) {
+                return ResponseEntity.ok(campaign);
+            }
+            System.out.println("📣 Campagne " + id + " : " + message);
+            return ResponseEntity.ok(Map.of("message", message, "campaign", campaign));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
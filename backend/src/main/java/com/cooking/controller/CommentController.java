@@ -5,12 +5,11 @@ import com.cooking.dto.CommentResponse;
 import com.cooking.entity.Comment;
 import com.cooking.entity.User;
 import com.cooking.entity.Recipe;
-import com.cooking.security.JwtTokenProvider;
 import com.cooking.security.UserPrincipal;
+import com.cooking.security.VerifiedClaims;
 import com.cooking.service.CommentService;
 import com.cooking.service.RecipeService;
 import com.cooking.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -24,14 +23,11 @@ import java.util.Map;
 public class CommentController {
 
     private final CommentService commentService;
-    private final JwtTokenProvider jwtTokenProvider;
     private final UserService userService;
     private final RecipeService recipeService;
 
-    public CommentController(CommentService commentService, JwtTokenProvider jwtTokenProvider, UserService userService,
-            RecipeService recipeService) {
+    public CommentController(CommentService commentService, UserService userService, RecipeService recipeService) {
         this.commentService = commentService;
-        this.jwtTokenProvider = jwtTokenProvider;
         this.userService = userService;
         this.recipeService = recipeService;
     }
@@ -87,20 +83,10 @@ public class CommentController {
     @PreAuthorize("hasRole('USER') or hasRole('CHEF') or hasRole('ADMIN')")
     public ResponseEntity<?> deleteComment(
             @PathVariable Long commentId,
-            HttpServletRequest httpRequest) {
-        String token = getTokenFromRequest(httpRequest);
-        Long userId = jwtTokenProvider.getUserIdFromToken(token);
-
-        boolean isAdmin = jwtTokenProvider.getRoleFromToken(token).equalsIgnoreCase("ADMIN");
-
-        boolean deleted = commentService.deleteComment(commentId, userId, isAdmin);
+            @RequestAttribute(VerifiedClaims.ATTRIBUTE) VerifiedClaims claims) {
+        boolean deleted = commentService.deleteComment(commentId, claims.getUserId(), claims.isAdmin());
         if (!deleted)
             return ResponseEntity.status(403).body("Suppression non autorisée.");
         return ResponseEntity.ok("Commentaire supprimé");
     }
-
-    private String getTokenFromRequest(HttpServletRequest request) {
-        String bearer = request.getHeader("Authorization");
-        return (bearer != null && bearer.startsWith("Bearer ")) ? bearer.substring(7) : null;
-    }
 }
@@ -0,0 +1,60 @@
+package com.cooking.controller;
+
+import com.cooking.dto.OutboxEmailSummary;
+import com.cooking.entity.OutboxEmail;
+import com.cooking.exception.ResourceNotFoundException;
+import com.cooking.service.EmailOutboxService;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Supervision de la file d'emails (admin seulement)
+ */
+@RestController
+@RequestMapping("/api/admin/emails")
+@PreAuthorize("hasRole('ADMIN')")
+public class EmailOutboxController {
+
+    private final EmailOutboxService emailOutboxService;
+
+    public EmailOutboxController(EmailOutboxService emailOutboxService) {
+        this.emailOutboxService = emailOutboxService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<OutboxEmail.Status, Long>> getStats() {
+        return ResponseEntity.ok(emailOutboxService.countByStatus());
+    }
+
+    /** Emails abandonnés après le dernier échec d'envoi */
+    @GetMapping("/dead")
+    public ResponseEntity<?> getDeadLetters(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<OutboxEmail> deadLetters = emailOutboxService.getDeadLetters(Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(Map.of(
+            "emails", deadLetters.getContent().stream().map(OutboxEmailSummary::new).toList(),
+            "currentPage", deadLetters.getNumber(),
+            "totalItems", deadLetters.getTotalElements(),
+            "totalPages", deadLetters.getTotalPages()
+        ));
+    }
+
+    /** Remettre un email mort dans la file */
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<?> retry(@PathVariable Long id) {
+        try {
+            OutboxEmail email = emailOutboxService.requeue(id);
+            System.out.println("🔁 Email " + id + " remis en file pour: " + email.getRecipient());
+            return ResponseEntity.ok(Map.of("message", "Email remis en file", "email", new OutboxEmailSummary(email)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.cooking.controller;
 
+import com.cooking.cache.ResponseCache;
+import com.cooking.dto.PantryMatchResponse;
+import com.cooking.dto.PantryRequest;
+import com.cooking.dto.RecipeCursor;
 import com.cooking.dto.RecipeRequest;
 import com.cooking.dto.RecipeResponse;
+import com.cooking.dto.RecipeSummary;
 import com.cooking.entity.Recipe;
 import com.cooking.entity.User;
+import com.cooking.event.CatalogVersion;
+import com.cooking.exception.InvalidCursorException;
+import com.cooking.exception.InvalidFieldsException;
+import com.cooking.search.IngredientParser;
+import com.cooking.search.RecipeSuggestionTrie;
 import com.cooking.security.UserPrincipal;
 import com.cooking.service.RecipeService;
 import com.cooking.service.UserService;
@@ -12,55 +22,85 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/recipes")
 public class RecipeController {
     
+    private static final int DEFAULT_PANTRY_RESULTS = 20;
+    private static final int MAX_PANTRY_RESULTS = 100;
+    
+    // Représentation des listes : cartes légères ou recettes complètes
+    private static final String VIEW_SUMMARY = "summary";
+    private static final String VIEW_FULL = "full";
+    
+    // Réponses publiques revalidées à chaque usage (If-None-Match) ; sans ce Cache-Control,
+    // Spring Security pose no-store et le navigateur ne garderait rien
+    private static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+    
     @Autowired
     private RecipeService recipeService;
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private RecipeSuggestionTrie suggestionTrie;
+    
+    @Autowired
+    private CatalogVersion catalogVersion;
+    
+    @Autowired
+    private ResponseCache responseCache;
+    
     // @Autowired
     // private JwtTokenProvider jwtTokenProvider;
     
     /**
-     * Récupérer toutes les recettes (public, avec pagination)
+     * Récupérer toutes les recettes (public, avec pagination).
+     * Avec le paramètre cursor (vide pour la première page), pagination par curseur
+     * sur les plus récentes, sans total.
+     * Les listes renvoient des cartes (extrait des ingrédients) ; view=full pour les recettes complètes,
+     * fields=id,title,author.username... pour une sélection de champs (pagination par numéro de page).
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllRecipes(
+    public ResponseEntity<?> getAllRecipes(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = VIEW_SUMMARY) String view,
+            @RequestParam(required = false) String fields,
+            ServletWebRequest webRequest) {
+        String etag = catalogVersion.weakETag();
+        if (notModified(webRequest, etag)) {
+            return null;
+        }
         try {
-            Page<Recipe> recipePage = recipeService.getAllRecipesSorted(page, size, sortBy, sortDirection);
-            
-            List<RecipeResponse> recipes = recipePage.getContent().stream()
-                .map(RecipeResponse::new)
-                .collect(Collectors.toList());
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("recipes", recipes);
-            response.put("currentPage", recipePage.getNumber());
-            response.put("totalPages", recipePage.getTotalPages());
-            response.put("totalItems", recipePage.getTotalElements());
-            response.put("hasNext", recipePage.hasNext());
-            response.put("hasPrevious", recipePage.hasPrevious());
-            
-            return ResponseEntity.ok(response);
+            return cached(ResponseCache.Key.list(etag + " " + requestKey(webRequest)),
+                () -> getRecipesPage(page, size, sortBy, sortDirection, cursor, view, fields));
+        } catch (InvalidFieldsException e) {
+            return invalidFields(e);
+        } catch (InvalidCursorException e) {
+            return invalidCursor(e);
         } catch (Exception e) {
             System.err.println("❌ Erreur lors de la récupération des recettes: " + e.getMessage());
             return ResponseEntity.status(500).build();
@@ -68,14 +108,26 @@ public class RecipeController {
     }
     
     /**
-     * Récupérer une recette par ID (public)
+     * Récupérer une recette par ID (public), éventuellement réduite aux champs demandés.
+     * ETag fort "id-version.affichage" : un If-None-Match à jour est servi en 304 après la seule lecture des versions.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getRecipeById(@PathVariable Long id) {
+    public ResponseEntity<?> getRecipeById(@PathVariable Long id,
+                                           @RequestParam(required = false) String fields,
+                                           ServletWebRequest webRequest) {
         try {
-            Recipe recipe = recipeService.getRecipeByIdWithComments(id);
-            RecipeResponse response = new RecipeResponse(recipe);
-            return ResponseEntity.ok(response);
+            String version = recipeService.getRecipeVersion(id).tag();
+            if (notModified(webRequest, "\"" + id + "-" + version + "\"")) {
+                return null;
+            }
+            if (fields != null) {
+                return cached(ResponseCache.Key.recipe(id, version + " fields=" + fields),
+                    () -> recipeService.getRecipeFieldsById(id, fields));
+            }
+            return cached(ResponseCache.Key.recipe(id, version),
+                () -> new RecipeResponse(recipeService.getRecipeByIdWithComments(id)));
+        } catch (InvalidFieldsException e) {
+            return invalidFields(e);
         } catch (Exception e) {
             System.err.println("❌ Erreur lors de la récupération de la recette: " + e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -144,6 +196,12 @@ public class RecipeController {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
             return ResponseEntity.status(403).body(error);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Deux modifications simultanées de la même recette : la seconde doit recharger puis réessayer
+            System.err.println("⚠️ Modification concurrente de la recette " + id);
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "La recette a été modifiée entre-temps, rechargez-la avant de réessayer");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         } catch (Exception e) {
             System.err.println("❌ Erreur lors de la mise à jour de la recette: " + e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -198,20 +256,24 @@ public class RecipeController {
     }
     
     /**
-     * Rechercher des recettes
+     * Rechercher des recettes (classées par pertinence, fuzzy=true pour tolérer les fautes)
      */
     @GetMapping("/search")
     public ResponseEntity<Map<String, Object>> searchRecipes(
             @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = VIEW_SUMMARY) String view,
+            ServletWebRequest webRequest) {
+        if (notModified(webRequest, catalogVersion.weakETag())) {
+            return null;
+        }
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Recipe> recipePage = recipeService.searchRecipes(q, pageable);
+            Page<RecipeSummary> recipePage = recipeService.searchRecipes(q, pageable, fuzzy);
             
-            List<RecipeResponse> recipes = recipePage.getContent().stream()
-                .map(RecipeResponse::new)
-                .collect(Collectors.toList());
+            List<?> recipes = toView(recipePage.getContent(), view);
             
             Map<String, Object> response = new HashMap<>();
             response.put("recipes", recipes);
@@ -219,6 +281,7 @@ public class RecipeController {
             response.put("totalPages", recipePage.getTotalPages());
             response.put("totalItems", recipePage.getTotalElements());
             response.put("searchTerm", q);
+            response.put("fuzzy", fuzzy);
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -228,27 +291,121 @@ public class RecipeController {
     }
     
     /**
-     * Récupérer les recettes d'un utilisateur
+     * Autocomplétion des titres et mots-clés (public)
      */
-    @GetMapping("/user/{userId}")
-    public ResponseEntity<Map<String, Object>> getRecipesByUser(
-            @PathVariable Long userId,
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("prefix", prefix);
+        response.put("suggestions", suggestionTrie.suggest(prefix, limit));
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Occupation mémoire de l'autocomplétion (admin seulement)
+     */
+    @GetMapping("/suggest/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getSuggestStats() {
+        return ResponseEntity.ok(suggestionTrie.getStats());
+    }
+    
+    /**
+     * Recettes contenant tous (match=all) ou au moins un (match=any) des ingrédients (public)
+     */
+    @GetMapping("/by-ingredients")
+    public ResponseEntity<Map<String, Object>> getRecipesByIngredients(
+            @RequestParam List<String> ingredients,
+            @RequestParam(defaultValue = "all") String match,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = VIEW_SUMMARY) String view,
+            ServletWebRequest webRequest) {
+        if (notModified(webRequest, catalogVersion.weakETag())) {
+            return null;
+        }
         try {
-            User author = userService.getUserById(userId);
+            boolean matchAll = !match.equalsIgnoreCase("any");
             Pageable pageable = PageRequest.of(page, size);
-            Page<Recipe> recipePage = recipeService.getRecipesByAuthor(author, pageable);
+            Page<RecipeSummary> recipePage = recipeService.findRecipesByIngredients(ingredients, matchAll, pageable);
             
-            List<RecipeResponse> recipes = recipePage.getContent().stream()
-                .map(RecipeResponse::new)
-                .collect(Collectors.toList());
+            List<?> recipes = toView(recipePage.getContent(), view);
             
             Map<String, Object> response = new HashMap<>();
             response.put("recipes", recipes);
+            response.put("ingredients", ingredients.stream()
+                .map(IngredientParser::canonicalName)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .collect(Collectors.toList()));
+            response.put("match", matchAll ? "all" : "any");
             response.put("currentPage", recipePage.getNumber());
             response.put("totalPages", recipePage.getTotalPages());
             response.put("totalItems", recipePage.getTotalElements());
+            response.put("hasNext", recipePage.hasNext());
+            response.put("hasPrevious", recipePage.hasPrevious());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            System.err.println("❌ Erreur lors de la recherche par ingrédients: " + e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+    
+    /**
+     * Recettes réalisables avec le garde-manger, les mieux couvertes d'abord (public)
+     */
+    @PostMapping("/pantry")
+    public ResponseEntity<Map<String, Object>> getRecipesByPantry(@Valid @RequestBody PantryRequest pantryRequest) {
+        try {
+            int limit = pantryRequest.getLimit() != null
+                ? Math.max(1, Math.min(pantryRequest.getLimit(), MAX_PANTRY_RESULTS))
+                : DEFAULT_PANTRY_RESULTS;
+            List<PantryMatchResponse> matches = recipeService.findRecipesByPantry(pantryRequest.getIngredients(), limit);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("matches", matches);
+            response.put("count", matches.size());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            System.err.println("❌ Erreur lors de la recherche par garde-manger: " + e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+    
+    /**
+     * Récupérer les recettes d'un utilisateur
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<Map<String, Object>> getRecipesByUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = VIEW_SUMMARY) String view,
+            ServletWebRequest webRequest) {
+        if (notModified(webRequest, catalogVersion.weakETag())) {
+            return null;
+        }
+        try {
+            User author = userService.getUserById(userId);
+            Map<String, Object> response;
+            if (cursor != null) {
+                response = getCursorPage(author.getId(), cursor, size, view);
+            } else {
+                Pageable pageable = PageRequest.of(page, size);
+                Page<RecipeSummary> recipePage = recipeService.getRecipeSummariesByAuthor(author.getId(), pageable);
+                
+                List<?> recipes = toView(recipePage.getContent(), view);
+                
+                response = new HashMap<>();
+                response.put("recipes", recipes);
+                response.put("currentPage", recipePage.getNumber());
+                response.put("totalPages", recipePage.getTotalPages());
+                response.put("totalItems", recipePage.getTotalElements());
+            }
             response.put("author", Map.of(
                 "id", author.getId(),
                 "username", author.getUsername(),
@@ -256,6 +413,8 @@ public class RecipeController {
             ));
             
             return ResponseEntity.ok(response);
+        } catch (InvalidCursorException e) {
+            return invalidCursor(e);
         } catch (Exception e) {
             System.err.println("❌ Erreur lors de la récupération des recettes de l'utilisateur: " + e.getMessage());
             return ResponseEntity.status(500).build();
@@ -266,14 +425,15 @@ public class RecipeController {
      * Récupérer les recettes récentes
      */
     @GetMapping("/recent")
-    public ResponseEntity<List<RecipeResponse>> getRecentRecipes() {
+    public ResponseEntity<?> getRecentRecipes(@RequestParam(defaultValue = VIEW_SUMMARY) String view,
+                                              ServletWebRequest webRequest) {
+        String etag = catalogVersion.weakETag();
+        if (notModified(webRequest, etag)) {
+            return null;
+        }
         try {
-            List<Recipe> recipes = recipeService.getRecentRecipes();
-            List<RecipeResponse> response = recipes.stream()
-                .map(RecipeResponse::new)
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(response);
+            return cached(ResponseCache.Key.list(etag + " " + requestKey(webRequest)),
+                () -> toView(recipeService.getRecentRecipeSummaries(), view));
         } catch (Exception e) {
             System.err.println("❌ Erreur lors de la récupération des recettes récentes: " + e.getMessage());
             return ResponseEntity.status(500).build();
@@ -288,17 +448,20 @@ public class RecipeController {
     public ResponseEntity<Map<String, Object>> getMyRecipes(
             Authentication authentication,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = VIEW_SUMMARY) String view) {
         try {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            if (cursor != null) {
+                return ResponseEntity.ok(getCursorPage(userPrincipal.getId(), cursor, size, view));
+            }
             User author = userService.getUserById(userPrincipal.getId());
             
             Pageable pageable = PageRequest.of(page, size);
-            Page<Recipe> recipePage = recipeService.getRecipesByAuthor(author, pageable);
+            Page<RecipeSummary> recipePage = recipeService.getRecipeSummariesByAuthor(author.getId(), pageable);
             
-            List<RecipeResponse> recipes = recipePage.getContent().stream()
-                .map(RecipeResponse::new)
-                .collect(Collectors.toList());
+            List<?> recipes = toView(recipePage.getContent(), view);
             
             Map<String, Object> response = new HashMap<>();
             response.put("recipes", recipes);
@@ -307,12 +470,106 @@ public class RecipeController {
             response.put("totalItems", recipePage.getTotalElements());
             
             return ResponseEntity.ok(response);
+        } catch (InvalidCursorException e) {
+            return invalidCursor(e);
         } catch (Exception e) {
             System.err.println("❌ Erreur lors de la récupération de mes recettes: " + e.getMessage());
             return ResponseEntity.status(500).build();
         }
     }
     
+    // Page de recettes (curseur, champs choisis ou cartes) telle que sérialisée par getAllRecipes
+    private Map<String, Object> getRecipesPage(int page, int size, String sortBy, String sortDirection,
+                                               String cursor, String view, String fields) {
+        if (cursor != null) {
+            return getCursorPage(null, cursor, size, view);
+        }
+        Page<?> recipePage;
+        List<?> recipes;
+        if (fields != null) {
+            // Seules les colonnes demandées sont lues et sérialisées
+            Page<Map<String, Object>> fieldsPage = recipeService.getRecipeFieldsSorted(fields, page, size, sortBy, sortDirection);
+            recipePage = fieldsPage;
+            recipes = fieldsPage.getContent();
+        } else {
+            Page<RecipeSummary> summaryPage = recipeService.getRecipeSummariesSorted(page, size, sortBy, sortDirection);
+            recipePage = summaryPage;
+            recipes = toView(summaryPage.getContent(), view);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("recipes", recipes);
+        response.put("currentPage", recipePage.getNumber());
+        response.put("totalPages", recipePage.getTotalPages());
+        response.put("totalItems", recipePage.getTotalElements());
+        response.put("hasNext", recipePage.hasNext());
+        response.put("hasPrevious", recipePage.hasPrevious());
+
+        return response;
+    }
+    
+    // Page par curseur : recettes, jeton de la page suivante et hasNext (pas de total)
+    private Map<String, Object> getCursorPage(Long authorId, String cursor, int size, String view) {
+        RecipeCursor position = cursor.isEmpty() ? null : RecipeCursor.decode(cursor);
+        Slice<RecipeSummary> slice = recipeService.getRecipeSummariesAfter(authorId, position, Math.max(1, size));
+        
+        List<RecipeSummary> rows = slice.getContent();
+        List<?> recipes = toView(rows, view);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("recipes", recipes);
+        response.put("hasNext", slice.hasNext());
+        response.put("nextCursor", slice.hasNext() && !rows.isEmpty()
+            ? RecipeCursor.after(rows.get(rows.size() - 1)).encode()
+            : null);
+        return response;
+    }
+    
+    // Cartes (extrait des ingrédients) par défaut ; view=full relit les recettes complètes de la page
+    private List<?> toView(List<RecipeSummary> summaries, String view) {
+        if (!VIEW_FULL.equalsIgnoreCase(view)) {
+            return summaries;
+        }
+        List<Long> ids = summaries.stream().map(RecipeSummary::getId).collect(Collectors.toList());
+        return recipeService.getRecipeDetails(ids).stream()
+            .map(RecipeResponse::new)
+            .collect(Collectors.toList());
+    }
+    
+    private ResponseEntity<Map<String, Object>> invalidFields(InvalidFieldsException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+    
+    private ResponseEntity<Map<String, Object>> invalidCursor(InvalidCursorException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+    
+    /**
+     * GET conditionnel : pose l'ETag et le Cache-Control sur la réponse et indique si le client
+     * a déjà cette représentation (la réponse est alors un 304 sans corps)
+     */
+    private boolean notModified(ServletWebRequest webRequest, String etag) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        return webRequest.checkNotModified(etag);
+    }
+    
+    // Chemin et paramètres : la variante de cache d'une liste
+    private static String requestKey(ServletWebRequest webRequest) {
+        String query = webRequest.getRequest().getQueryString();
+        return webRequest.getRequest().getRequestURI() + (query != null ? "?" + query : "");
+    }
+    
+    // Corps JSON servi depuis le cache des réponses (calculé par body sur un défaut)
+    private ResponseEntity<byte[]> cached(ResponseCache.Key key, Supplier<?> body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(responseCache.get(key, body));
+    }
+    
     /**
      * Statistiques des recettes (admin seulement)
      */
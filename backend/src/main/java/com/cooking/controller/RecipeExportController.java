@@ -0,0 +1,40 @@
+package com.cooking.controller;
+
+import com.cooking.service.RecipeExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Export du catalogue pour l'indexation et les sauvegardes (admin seulement)
+ */
+@RestController
+@RequestMapping("/api/admin/recipes")
+@PreAuthorize("hasRole('ADMIN')")
+public class RecipeExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final RecipeExportService recipeExportService;
+
+    public RecipeExportController(RecipeExportService recipeExportService) {
+        this.recipeExportService = recipeExportService;
+    }
+
+    /** Toutes les recettes, une par ligne (NDJSON), écrites directement sur la réponse */
+    @GetMapping("/export")
+    public void exportRecipes(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recipes.ndjson\"");
+
+        long start = System.currentTimeMillis();
+        long exported = recipeExportService.exportRecipes(response.getOutputStream());
+        System.out.println("📦 Export NDJSON : " + exported + " recettes en " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
@@ -0,0 +1,74 @@
+package com.cooking.controller;
+
+import com.cooking.dto.RecipeImportReport;
+import com.cooking.exception.ResourceNotFoundException;
+import com.cooking.importer.RecipeImportReader;
+import com.cooking.security.VerifiedClaims;
+import com.cooking.service.RecipeImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Import en masse de recettes (catalogue d'un partenaire) - admin seulement
+ */
+@RestController
+@RequestMapping("/api/admin/recipes")
+@PreAuthorize("hasRole('ADMIN')")
+public class RecipeImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final RecipeImportService recipeImportService;
+    private final ObjectMapper objectMapper;
+
+    public RecipeImportController(RecipeImportService recipeImportService, ObjectMapper objectMapper) {
+        this.recipeImportService = recipeImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Corps NDJSON (une recette par ligne) ou CSV avec en-tête (Content-Type text/csv ou format=csv).
+     * Les recettes sont attribuées à authorId (par défaut l'administrateur qui importe).
+     * Réponse : nombre de recettes importées et erreurs ligne par ligne.
+     */
+    // Types explicites : un corps envoyé en formulaire serait consommé par la lecture des paramètres
+    @PostMapping(value = "/import", consumes = {NDJSON, "application/json", "text/csv", "text/plain"})
+    public ResponseEntity<?> importRecipes(@RequestParam(required = false) String format,
+                                           @RequestParam(required = false) Long authorId,
+                                           HttpServletRequest request,
+                                           @RequestAttribute(VerifiedClaims.ATTRIBUTE) VerifiedClaims claims) throws IOException {
+        Long author = authorId != null ? authorId : claims.getUserId();
+        boolean csv = format != null
+            ? "csv".equalsIgnoreCase(format)
+            : request.getContentType() != null && request.getContentType().contains("csv");
+        System.out.println("📥 [ADMIN " + claims.getUsername() + "] Import " + (csv ? "CSV" : "NDJSON")
+            + " de recettes pour l'auteur " + author);
+
+        Reader body = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8);
+        try (RecipeImportReader reader = csv
+                ? RecipeImportReader.csv(body)
+                : RecipeImportReader.ndjson(body, objectMapper)) {
+            RecipeImportReport report = recipeImportService.importRecipes(reader, author);
+            System.out.println("✅ Import terminé : " + report.getImported() + " recettes, "
+                + report.getFailed() + " erreurs en " + report.getDurationMs() + " ms");
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+        }
+    }
+}
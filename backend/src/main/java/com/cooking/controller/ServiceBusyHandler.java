@@ -0,0 +1,30 @@
+package com.cooking.controller;
+
+import com.cooking.exception.PasswordHashingRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Pool de hachage BCrypt saturé : 503 + Retry-After pour tous les endpoints,
+ * le client réessaie au lieu d'ajouter du travail au pool
+ */
+@RestControllerAdvice
+public class ServiceBusyHandler {
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<?> serviceBusy(PasswordHashingRejectedException e, HttpServletRequest request) {
+        System.err.println("⏳ Pool BCrypt saturé, requête refusée: " + request.getMethod() + " " + request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(Map.of(
+                "error", "Service momentanément surchargé",
+                "message", e.getMessage()
+            ));
+    }
+}
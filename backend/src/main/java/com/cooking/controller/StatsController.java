@@ -1,9 +1,12 @@
 package com.cooking.controller;
 
+import com.cooking.cache.ResponseCache;
+import com.cooking.event.CatalogVersion;
 import com.cooking.repository.UserRepository;
 import com.cooking.repository.CommentRepository;
 import com.cooking.repository.RecipeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,23 +20,31 @@ public class StatsController {
     private final UserRepository userRepository;
     private final RecipeRepository recipeRepository;
     private final CommentRepository commentRepository;
+    private final ResponseCache responseCache;
+    private final CatalogVersion catalogVersion;
 
     @Autowired
     public StatsController(UserRepository userRepository, RecipeRepository recipeRepository,
-            CommentRepository commentRepository) {
+            CommentRepository commentRepository, ResponseCache responseCache, CatalogVersion catalogVersion) {
         this.userRepository = userRepository;
         this.recipeRepository = recipeRepository;
         this.commentRepository = commentRepository;
+        this.responseCache = responseCache;
+        this.catalogVersion = catalogVersion;
     }
 
+    // Trois COUNT(*) par appel : servis depuis le cache des réponses jusqu'à la prochaine écriture
     @GetMapping("/public")
-    public ResponseEntity<Map<String, Object>> getPublicStats() {
+    public ResponseEntity<byte[]> getPublicStats() {
         try {
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("recipes", recipeRepository.count());
-            stats.put("users", userRepository.count());
-            stats.put("comments", commentRepository.count());
-            return ResponseEntity.ok(stats);
+            byte[] stats = responseCache.get(ResponseCache.Key.stats(catalogVersion.statsVersion()), () -> {
+                Map<String, Object> counts = new HashMap<>();
+                counts.put("recipes", recipeRepository.count());
+                counts.put("users", userRepository.count());
+                counts.put("comments", commentRepository.count());
+                return counts;
+            });
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(stats);
         } catch (Exception e) {
             System.err.println("❌ Erreur lors de la récupération des stats: " + e.getMessage());
             return ResponseEntity.status(500).build();
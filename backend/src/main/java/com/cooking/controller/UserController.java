@@ -6,9 +6,9 @@ import com.cooking.dto.UpdateRoleRequest;
 import com.cooking.dto.UpdateStatusRequest;
 import com.cooking.dto.UserSummary;
 import com.cooking.entity.User;
-import com.cooking.security.JwtTokenProvider;
+import com.cooking.exception.InvalidFieldsException;
+import com.cooking.security.VerifiedClaims;
 import com.cooking.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,20 +25,31 @@ public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
     private final UserService userService;
-    private final JwtTokenProvider jwtTokenProvider;
 
-    public UserController(UserService userService, JwtTokenProvider jwtTokenProvider) {
+    public UserController(UserService userService) {
         this.userService = userService;
-        this.jwtTokenProvider = jwtTokenProvider;
     }
 
-    /** Récupérer tous les utilisateurs (admin seulement, DTO sécurisé) */
+    /**
+     * Récupérer tous les utilisateurs (admin seulement, DTO sécurisé).
+     * Avec fields=id,username,... seules ces colonnes sont lues et renvoyées.
+     */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserSummary>> getAllUsers(HttpServletRequest request) {
-        String admin = extractUsername(request);
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String fields,
+            @RequestAttribute(VerifiedClaims.ATTRIBUTE) VerifiedClaims claims) {
+        String admin = claims.getUsername();
         logger.info("📋 [ADMIN {}] Récupère la liste des utilisateurs", admin);
 
+        if (fields != null) {
+            try {
+                return ResponseEntity.ok(userService.getAllUsersFields(fields));
+            } catch (InvalidFieldsException e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            }
+        }
+
         List<UserSummary> users = userService.getAllUsers().stream()
                 .map(UserSummary::new).toList();
         return ResponseEntity.ok(users);
@@ -49,8 +60,8 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> createUser(
             @Valid @RequestBody CreateUserRequest request,
-            HttpServletRequest httpRequest) {
-        String admin = extractUsername(httpRequest);
+            @RequestAttribute(VerifiedClaims.ATTRIBUTE) VerifiedClaims claims) {
+        String admin = claims.getUsername();
         logger.info("➕ [ADMIN {}] Crée un nouvel utilisateur: {}", admin, request.getUsername());
 
         try {
@@ -71,8 +82,8 @@ public class UserController {
             return ResponseEntity.ok(Map.of(
                     "message", "Utilisateur créé avec succès",
                     "user", new UserSummary(newUser)));
-        } catch (Exception e) {
-            logger.error("Erreur lors de la création de l'utilisateur", e);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erreur lors de la création de l'utilisateur: {}", e.getMessage());
             return ResponseEntity.badRequest()
                     .body(Map.of("message", e.getMessage()));
         }
@@ -95,7 +106,7 @@ public class UserController {
     public ResponseEntity<?> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UpdateUserRequest request,
-            HttpServletRequest httpRequest) {
+            @RequestAttribute(VerifiedClaims.ATTRIBUTE) VerifiedClaims claims) {
         // ... code existant ...
 
         try {
@@ -125,8 +136,8 @@ public class UserController {
             return ResponseEntity.ok(Map.of(
                     "message", "Utilisateur modifié avec succès",
                     "user", new UserSummary(updated)));
-        } catch (Exception e) {
-            logger.error("Erreur lors de la modification de l'utilisateur", e);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erreur lors de la modification de l'utilisateur: {}", e.getMessage());
             return ResponseEntity.badRequest()
                     .body(Map.of("message", e.getMessage()));
         }
@@ -138,9 +149,9 @@ public class UserController {
     public ResponseEntity<?> updateUserRole(
             @PathVariable Long id,
             @RequestBody UpdateRoleRequest request,
-            HttpServletRequest httpRequest) {
-        String admin = extractUsername(httpRequest);
-        Long adminId = extractUserId(httpRequest);
+            @RequestAttribute(VerifiedClaims.ATTRIBUTE) VerifiedClaims claims) {
+        String admin = claims.getUsername();
+        Long adminId = claims.getUserId();
 
         if (id.equals(adminId)) {
             return ResponseEntity.status(403)
@@ -169,9 +180,9 @@ public class UserController {
     public ResponseEntity<?> updateUserStatus(
             @PathVariable Long id,
             @RequestBody UpdateStatusRequest request,
-            HttpServletRequest httpRequest) {
-        String admin = extractUsername(httpRequest);
-        Long adminId = extractUserId(httpRequest);
+            @RequestAttribute(VerifiedClaims.ATTRIBUTE) VerifiedClaims claims) {
+        String admin = claims.getUsername();
+        Long adminId = claims.getUserId();
 
         if (id.equals(adminId)) {
             return ResponseEntity.status(403)
@@ -207,9 +218,9 @@ public class UserController {
     /** Supprimer un utilisateur (admin seulement) */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> deleteUser(@PathVariable Long id, HttpServletRequest request) {
-        String admin = extractUsername(request);
-        Long adminId = extractUserId(request);
+    public ResponseEntity<?> deleteUser(@PathVariable Long id, @RequestAttribute(VerifiedClaims.ATTRIBUTE) VerifiedClaims claims) {
+        String admin = claims.getUsername();
+        Long adminId = claims.getUserId();
 
         if (id.equals(adminId)) {
             return ResponseEntity.status(403)
@@ -237,20 +248,4 @@ public class UserController {
     public ResponseEntity<?> getUserStats() {
         return ResponseEntity.ok(userService.getUserStats());
     }
-
-    /** Utils */
-    private String extractUsername(HttpServletRequest req) {
-        String token = getTokenFromRequest(req);
-        return token != null ? jwtTokenProvider.getUsernameFromToken(token) : "unknown";
-    }
-
-    private Long extractUserId(HttpServletRequest req) {
-        String token = getTokenFromRequest(req);
-        return token != null ? jwtTokenProvider.getUserIdFromToken(token) : null;
-    }
-
-    private String getTokenFromRequest(HttpServletRequest request) {
-        String bearer = request.getHeader("Authorization");
-        return (bearer != null && bearer.startsWith("Bearer ")) ? bearer.substring(7) : null;
-    }
-}
\ No newline at end of file
+}
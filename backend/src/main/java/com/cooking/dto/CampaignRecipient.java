@@ -0,0 +1,30 @@
+package com.cooking.dto;
+
+/**
+ * Destinataire de campagne : uniquement les colonnes utiles au rendu du message
+ */
+public class CampaignRecipient {
+    private final Long id;
+    private final String username;
+    private final String firstName;
+    private final String email;
+    
+    public CampaignRecipient(Long id, String username, String firstName, String email) {
+        this.id = id;
+        this.username = username;
+        this.firstName = firstName;
+        this.email = email;
+    }
+    
+    public Long getId() { return id; }
+    
+    public String getUsername() { return username; }
+    
+    public String getFirstName() { return firstName; }
+    
+    public String getEmail() { return email; }
+    
+    public String getDisplayName() {
+        return firstName != null ? firstName : username;
+    }
+}
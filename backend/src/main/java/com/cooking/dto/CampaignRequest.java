@@ -0,0 +1,30 @@
+package com.cooking.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Nouvelle campagne ; le corps accepte les variables {{userName}}, {{username}} et {{email}}
+ */
+public class CampaignRequest {
+    
+    @NotBlank(message = "Le sujet est obligatoire")
+    @Size(max = 500, message = "Le sujet ne peut pas dépasser 500 caractères")
+    private String subject;
+    
+    @NotBlank(message = "Le contenu est obligatoire")
+    private String body;
+    
+    private boolean html;
+    
+    public CampaignRequest() {}
+    
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+    
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+    
+    public boolean isHtml() { return html; }
+    public void setHtml(boolean html) { this.html = html; }
+}
@@ -0,0 +1,58 @@
+package com.cooking.dto;
+
+import com.cooking.entity.EmailCampaign;
+import java.time.LocalDateTime;
+
+/**
+ * Avancement d'une campagne (sans le corps du message)
+ */
+public class CampaignResponse {
+    private Long id;
+    private String subject;
+    private String status;
+    private long totalRecipients;
+    private long sentCount;
+    private long failedCount;
+    private long lastUserId;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    
+    public CampaignResponse(EmailCampaign campaign) {
+        this.id = campaign.getId();
+        this.subject = campaign.getSubject();
+        this.status = campaign.getStatus().name();
+        this.totalRecipients = campaign.getTotalRecipients();
+        this.sentCount = campaign.getSentCount();
+        this.failedCount = campaign.getFailedCount();
+        this.lastUserId = campaign.getLastUserId();
+        this.createdBy = campaign.getCreatedBy();
+        this.createdAt = campaign.getCreatedAt();
+        this.startedAt = campaign.getStartedAt();
+        this.completedAt = campaign.getCompletedAt();
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public String getSubject() { return subject; }
+    
+    public String getStatus() { return status; }
+    
+    public long getTotalRecipients() { return totalRecipients; }
+    
+    public long getSentCount() { return sentCount; }
+    
+    public long getFailedCount() { return failedCount; }
+    
+    public long getLastUserId() { return lastUserId; }
+    
+    public String getCreatedBy() { return createdBy; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+}
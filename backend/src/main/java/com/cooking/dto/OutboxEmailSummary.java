@@ -0,0 +1,46 @@
+package com.cooking.dto;
+
+import com.cooking.entity.OutboxEmail;
+import java.time.LocalDateTime;
+
+/**
+ * Vue admin d'un email de la file (sans le corps du message)
+ */
+public class OutboxEmailSummary {
+    private Long id;
+    private String recipient;
+    private String subject;
+    private String status;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    
+    public OutboxEmailSummary(OutboxEmail email) {
+        this.id = email.getId();
+        this.recipient = email.getRecipient();
+        this.subject = email.getSubject();
+        this.status = email.getStatus().name();
+        this.attempts = email.getAttempts();
+        this.lastError = email.getLastError();
+        this.createdAt = email.getCreatedAt();
+        this.nextAttemptAt = email.getNextAttemptAt();
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public String getRecipient() { return recipient; }
+    
+    public String getSubject() { return subject; }
+    
+    public String getStatus() { return status; }
+    
+    public int getAttempts() { return attempts; }
+    
+    public String getLastError() { return lastError; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+}
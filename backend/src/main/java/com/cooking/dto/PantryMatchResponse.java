@@ -0,0 +1,40 @@
+package com.cooking.dto;
+
+import com.cooking.search.PantryMatch;
+import java.util.List;
+
+public class PantryMatchResponse {
+    
+    private RecipeSummary recipe;
+    private int matchedCount;
+    private int missingCount;
+    private double coverage;
+    private List<String> missingIngredients;
+    
+    // Constructeur par défaut
+    public PantryMatchResponse() {}
+    
+    public PantryMatchResponse(RecipeSummary recipe, PantryMatch match, List<String> missingIngredients) {
+        this.recipe = recipe;
+        this.matchedCount = match.getMatchedCount();
+        this.missingCount = match.getMissingCount();
+        this.coverage = match.getCoverage();
+        this.missingIngredients = missingIngredients;
+    }
+    
+    // Getters et Setters
+    public RecipeSummary getRecipe() { return recipe; }
+    public void setRecipe(RecipeSummary recipe) { this.recipe = recipe; }
+    
+    public int getMatchedCount() { return matchedCount; }
+    public void setMatchedCount(int matchedCount) { this.matchedCount = matchedCount; }
+    
+    public int getMissingCount() { return missingCount; }
+    public void setMissingCount(int missingCount) { this.missingCount = missingCount; }
+    
+    public double getCoverage() { return coverage; }
+    public void setCoverage(double coverage) { this.coverage = coverage; }
+    
+    public List<String> getMissingIngredients() { return missingIngredients; }
+    public void setMissingIngredients(List<String> missingIngredients) { this.missingIngredients = missingIngredients; }
+}
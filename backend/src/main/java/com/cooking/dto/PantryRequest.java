@@ -0,0 +1,17 @@
+package com.cooking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class PantryRequest {
+    @NotEmpty
+    private List<String> ingredients;
+    
+    private Integer limit;
+
+    public List<String> getIngredients() { return ingredients; }
+    public void setIngredients(List<String> ingredients) { this.ingredients = ingredients; }
+    
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+}
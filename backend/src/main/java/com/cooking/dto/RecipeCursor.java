@@ -0,0 +1,53 @@
+package com.cooking.dto;
+
+import com.cooking.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Jeton de continuation opaque : position (createdAt, id) de la dernière recette renvoyée.
+ * L'ordre (createdAt desc, id desc) est total, les insertions concurrentes ne décalent donc pas les pages.
+ */
+public class RecipeCursor {
+    
+    private final LocalDateTime createdAt;
+    private final Long id;
+    
+    public RecipeCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    public static RecipeCursor after(RecipeSummary row) {
+        return new RecipeCursor(row.getCreatedAt(), row.getId());
+    }
+    
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Décoder un jeton reçu du client ({@link InvalidCursorException} si invalide)
+     */
+    public static RecipeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException();
+            }
+            return new RecipeCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64 invalide et NumberFormatException sont des IllegalArgumentException
+            throw new InvalidCursorException(e);
+        }
+    }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getId() { return id; }
+}
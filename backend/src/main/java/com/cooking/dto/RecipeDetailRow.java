@@ -0,0 +1,50 @@
+package com.cooking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recette complète (ingrédients et instructions) avec son auteur et son compteur de commentaires,
+ * lue en une seule requête sans charger les collections (listes demandées avec view=full)
+ */
+public class RecipeDetailRow {
+    
+    private final Long id;
+    private final String title;
+    private final String ingredients;
+    private final String instructions;
+    private final String keywords;
+    private final LocalDateTime createdAt;
+    private final Long authorId;
+    private final String authorUsername;
+    private final String authorFirstName;
+    private final String authorLastName;
+    private final long commentsCount;
+    
+    public RecipeDetailRow(Long id, String title, String ingredients, String instructions, String keywords,
+                            LocalDateTime createdAt, Long authorId, String authorUsername,
+                            String authorFirstName, String authorLastName, long commentsCount) {
+        this.id = id;
+        this.title = title;
+        this.ingredients = ingredients;
+        this.instructions = instructions;
+        this.keywords = keywords;
+        this.createdAt = createdAt;
+        this.authorId = authorId;
+        this.authorUsername = authorUsername;
+        this.authorFirstName = authorFirstName;
+        this.authorLastName = authorLastName;
+        this.commentsCount = commentsCount;
+    }
+    
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getIngredients() { return ingredients; }
+    public String getInstructions() { return instructions; }
+    public String getKeywords() { return keywords; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getAuthorId() { return authorId; }
+    public String getAuthorUsername() { return authorUsername; }
+    public String getAuthorFirstName() { return authorFirstName; }
+    public String getAuthorLastName() { return authorLastName; }
+    public long getCommentsCount() { return commentsCount; }
+}
@@ -0,0 +1,58 @@
+package com.cooking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bilan d'un import en masse : compteurs et erreurs ligne par ligne (les premières seulement)
+ */
+public class RecipeImportReport {
+
+    public static class LineError {
+        private final long line;
+        private final String message;
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+
+        public String getMessage() { return message; }
+    }
+
+    private final int maxReportedErrors;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private final List<LineError> errors = new ArrayList<>();
+
+    public RecipeImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new LineError(line, message));
+        }
+    }
+
+    // Getters
+    public long getImported() { return imported; }
+
+    public long getFailed() { return failed; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    /** Vrai si des erreurs ont été comptées sans être détaillées */
+    public boolean isErrorsTruncated() { return failed > errors.size(); }
+
+    public List<LineError> getErrors() { return errors; }
+}
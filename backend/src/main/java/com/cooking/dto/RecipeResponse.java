@@ -31,11 +31,20 @@ public class RecipeResponse {
             this.author = new AuthorInfo(recipe.getAuthor());
         }
         
-        if (recipe.getComments() != null) {
-            this.commentsCount = recipe.getComments().size();
-        } else {
-            this.commentsCount = 0;
-        }
+        this.commentsCount = (int) recipe.getCommentCount();
+    }
+    
+    // Constructeur à partir d'une ligne de liste complète (aucun accès aux collections)
+    public RecipeResponse(RecipeDetailRow row) {
+        this.id = row.getId();
+        this.title = row.getTitle();
+        this.ingredients = row.getIngredients();
+        this.instructions = row.getInstructions();
+        this.keywords = row.getKeywords();
+        this.createdAt = row.getCreatedAt();
+        this.author = new AuthorInfo(row.getAuthorId(), row.getAuthorUsername(),
+            row.getAuthorFirstName(), row.getAuthorLastName());
+        this.commentsCount = (int) row.getCommentsCount();
     }
     
     // Classe interne pour les informations de l'auteur
@@ -56,6 +65,16 @@ public class RecipeResponse {
             this.fullName = user.getFullName();
         }
         
+        public AuthorInfo(Long id, String username, String firstName, String lastName) {
+            this.id = id;
+            this.username = username;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            // Même règle que User.getFullName()
+            this.fullName = (firstName != null ? firstName : "") +
+                (lastName != null ? " " + lastName : "").trim();
+        }
+        
         // Getters et Setters
         public Long getId() { return id; }
         public void setId(Long id) { this.id = id; }
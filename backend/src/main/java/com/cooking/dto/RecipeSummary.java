@@ -0,0 +1,55 @@
+package com.cooking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Carte de recette pour les listes : sans le texte des ingrédients ni les instructions,
+ * seulement un court extrait. Construite directement par la requête JPQL (RecipeRepository.SUMMARY_SELECT).
+ */
+public class RecipeSummary {
+    
+    public static final int TEASER_LENGTH = 120;
+    
+    private final Long id;
+    private final String title;
+    private final String keywords;
+    private final LocalDateTime createdAt;
+    private final String teaser;
+    private final RecipeResponse.AuthorInfo author;
+    private final int commentsCount;
+    
+    // ingredientsStart : début du texte des ingrédients, TEASER_LENGTH + 1 caractères au plus
+    public RecipeSummary(Long id, String title, String keywords, LocalDateTime createdAt, String ingredientsStart,
+                         Long authorId, String authorUsername, String authorFirstName, String authorLastName,
+                         long commentsCount) {
+        this.id = id;
+        this.title = title;
+        this.keywords = keywords;
+        this.createdAt = createdAt;
+        this.teaser = teaser(ingredientsStart);
+        this.author = new RecipeResponse.AuthorInfo(authorId, authorUsername, authorFirstName, authorLastName);
+        this.commentsCount = (int) commentsCount;
+    }
+    
+    // Une ligne par ingrédient dans le texte : l'extrait les met bout à bout
+    private static String teaser(String text) {
+        if (text == null) {
+            return null;
+        }
+        boolean truncated = text.length() > TEASER_LENGTH;
+        String flat = text.replaceAll("\\s*[\\r\\n]+\\s*", ", ").trim();
+        if (flat.length() > TEASER_LENGTH) {
+            flat = flat.substring(0, TEASER_LENGTH).replaceAll("[,\\s]+$", "");
+            truncated = true;
+        }
+        return truncated ? flat + "…" : flat;
+    }
+    
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getKeywords() { return keywords; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public String getTeaser() { return teaser; }
+    public RecipeResponse.AuthorInfo getAuthor() { return author; }
+    public int getCommentsCount() { return commentsCount; }
+}
@@ -0,0 +1,15 @@
+package com.cooking.dto;
+
+/**
+ * Projection des champs texte d'une recette, utilisée pour construire les index
+ */
+public interface RecipeTextView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getIngredients();
+
+    String getKeywords();
+}
@@ -0,0 +1,20 @@
+package com.cooking.dto;
+
+/**
+ * Versions d'une recette lues par clé primaire, base de son ETag
+ */
+public interface RecipeVersion {
+
+    // Verrou optimiste : modifications de la recette elle-même
+    long getVersion();
+
+    // Mises à jour en masse qui changent l'affichage (commentaires, auteur renommé...)
+    long getRepresentationVersion();
+
+    /**
+     * Les deux compteurs ne font que croître : le couple ne se répète jamais
+     */
+    default String tag() {
+        return getVersion() + "." + getRepresentationVersion();
+    }
+}
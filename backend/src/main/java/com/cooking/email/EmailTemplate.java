@@ -0,0 +1,124 @@
+package com.cooking.email;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Gabarit d'email analysé une seule fois : une suite de segments littéraux
+ * séparés par des variables {@code {{nom}}}, rendus dans un tampon réutilisé par thread.
+ * Les valeurs sont échappées pour le HTML, sauf pour les gabarits texte ({@link #compileText}).
+ */
+public final class EmailTemplate {
+
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+    // literals.length == slots.length + 1 : littéral, variable, littéral, ..., littéral
+    private final String[] literals;
+    private final int[] slots;
+    private final int variableCount;
+    private final int literalLength;
+    private final boolean escapeHtml;
+
+    private EmailTemplate(String[] literals, int[] slots, int variableCount, boolean escapeHtml) {
+        this.literals = literals;
+        this.slots = slots;
+        this.variableCount = variableCount;
+        this.escapeHtml = escapeHtml;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Analyser un gabarit ; {@code variables} fixe l'ordre des valeurs passées à {@link #render(String...)}
+     */
+    public static EmailTemplate compile(String source, String... variables) {
+        return parse(source, variables, true);
+    }
+
+    /**
+     * Gabarit texte brut : les valeurs sont insérées telles quelles
+     */
+    public static EmailTemplate compileText(String source, String... variables) {
+        return parse(source, variables, false);
+    }
+
+    private static EmailTemplate parse(String source, String[] variables, boolean escapeHtml) {
+        List<String> names = Arrays.asList(variables);
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Variable non fermée à la position " + open);
+            }
+            String name = source.substring(open + 2, close).trim();
+            int slot = names.indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Variable inconnue dans le gabarit : " + name);
+            }
+            literals.add(source.substring(position, open));
+            slots.add(slot);
+            position = close + 2;
+        }
+        literals.add(source.substring(position));
+
+        return new EmailTemplate(literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray(), variables.length, escapeHtml);
+    }
+
+    public String render(String... values) {
+        if (values.length != variableCount) {
+            throw new IllegalArgumentException("Attendu " + variableCount + " valeur(s), reçu " + values.length);
+        }
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(literalLength + 64 * slots.length);
+
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = values[slots[i]];
+            if (escapeHtml) {
+                appendEscaped(out, value);
+            } else if (value != null) {
+                out.append(value);
+            }
+        }
+        out.append(literals[slots.length]);
+
+        String rendered = out.toString();
+        // Ne pas garder indéfiniment un tampon gonflé par un rendu exceptionnel
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
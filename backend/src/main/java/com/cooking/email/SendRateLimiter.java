@@ -0,0 +1,39 @@
+package com.cooking.email;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limiteur de débit à créneaux réguliers : chaque permis réserve 1/rate seconde.
+ * L'appelant attend son créneau hors du verrou ; un débit nul ou négatif désactive la limite.
+ */
+public final class SendRateLimiter {
+
+    private final long intervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextFreeNanos = System.nanoTime();
+
+    public SendRateLimiter(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0L;
+    }
+
+    public void acquire(int permits) throws InterruptedException {
+        if (intervalNanos == 0L) {
+            return;
+        }
+        long waitNanos;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            // Pas de crédit accumulé pendant l'inactivité : pas de rafale au redémarrage
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + permits * intervalNanos;
+            waitNanos = start - now;
+        } finally {
+            lock.unlock();
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
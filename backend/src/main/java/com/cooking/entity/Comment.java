@@ -5,7 +5,10 @@ import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_recipe_created_at", columnList = "recipe_id, created_at"),
+        @Index(name = "idx_comments_user", columnList = "user_id")
+})
 public class Comment {
 
     @Id
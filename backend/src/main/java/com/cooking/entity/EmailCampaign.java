@@ -0,0 +1,147 @@
+package com.cooking.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Campagne d'email vers tous les utilisateurs actifs et vérifiés.
+ * {@code lastUserId} est le point de reprise : les destinataires sont parcourus par id croissant.
+ */
+@Entity
+@Table(name = "email_campaigns", indexes = {
+        @Index(name = "idx_email_campaigns_status", columnList = "status")
+})
+public class EmailCampaign {
+
+    public enum Status {
+        DRAFT, RUNNING, PAUSED, COMPLETED, CANCELLED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 500)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String body;
+
+    @Column(nullable = false)
+    private boolean html;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.DRAFT;
+
+    @Column(name = "last_user_id", nullable = false)
+    private long lastUserId;
+
+    @Column(name = "total_recipients", nullable = false)
+    private long totalRecipients;
+
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    @Column(name = "created_by")
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public EmailCampaign() {
+    }
+
+    public EmailCampaign(String subject, String body, boolean html, String createdBy) {
+        this.subject = subject;
+        this.body = body;
+        this.html = html;
+        this.createdBy = createdBy;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public boolean isHtml() {
+        return html;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getLastUserId() {
+        return lastUserId;
+    }
+
+    public long getTotalRecipients() {
+        return totalRecipients;
+    }
+
+    public void setTotalRecipients(long totalRecipients) {
+        this.totalRecipients = totalRecipients;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * Enregistrer l'avancement d'une page de destinataires
+     */
+    public void recordPage(long lastUserId, int sent, int failed) {
+        this.lastUserId = lastUserId;
+        this.sentCount += sent;
+        this.failedCount += failed;
+    }
+}
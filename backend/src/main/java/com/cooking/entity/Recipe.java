@@ -2,14 +2,25 @@ package com.cooking.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "recipes")
+@Table(name = "recipes", indexes = {
+        @Index(name = "idx_recipes_comment_count_id", columnList = "comment_count DESC, id DESC"),
+        @Index(name = "idx_recipes_created_at_id", columnList = "created_at DESC, id DESC")
+})
+// Relue avant chaque commentaire. Les UPDATE en masse (compteur de commentaires) vident toute la région.
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipes")
 public class Recipe {
+    // Séquence par blocs (V5) : l'id est attribué sans aller-retour et les INSERT sont regroupés en lots JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipes_seq")
+    @SequenceGenerator(name = "recipes_seq", sequenceName = "recipes_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -36,6 +47,29 @@ public class Recipe {
     @com.fasterxml.jackson.annotation.JsonIgnore
     private List<Comment> comments;
 
+    // Compteur dénormalisé : modifié uniquement par des UPDATE atomiques (jamais par l'entité)
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long commentCount;
+
+    // Version (V6) : verrou optimiste, modifiée uniquement par les écritures de l'entité
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Version d'affichage (V7) : modifiée uniquement par des UPDATE en masse (commentaires, auteur renommé)
+    @Column(name = "representation_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long representationVersion;
+
+    // Ingrédients canoniques extraits du texte libre à l'écriture
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "recipe_ingredients",
+            joinColumns = @JoinColumn(name = "recipe_id"),
+            inverseJoinColumns = @JoinColumn(name = "ingredient_id"))
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Set<Ingredient> ingredientItems = new HashSet<>();
+
     public Recipe() {
     }
 
@@ -112,4 +146,24 @@ public class Recipe {
         this.comments = comments;
     }
 
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getRepresentationVersion() {
+        return representationVersion;
+    }
+
+    public Set<Ingredient> getIngredientItems() {
+        return ingredientItems;
+    }
+
+    public void setIngredientItems(Set<Ingredient> ingredientItems) {
+        this.ingredientItems = ingredientItems;
+    }
+
 }
@@ -0,0 +1,56 @@
+package com.cooking.event;
+
+/**
+ * Événement publié quand l'affichage des recettes change sans que leur contenu soit modifié
+ * (commentaire ajouté ou supprimé, auteur renommé...) ou quand le nombre d'utilisateurs change
+ */
+public class CatalogChangedEvent {
+
+    public enum Type {
+        COMMENT, COMMENT_COUNTS, AUTHOR, USERS
+    }
+
+    private final Type type;
+    private final Long id;
+
+    private CatalogChangedEvent(Type type, Long id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    // Commentaire ajouté ou supprimé sur une recette
+    public static CatalogChangedEvent comment(Long recipeId) {
+        return new CatalogChangedEvent(Type.COMMENT, recipeId);
+    }
+
+    // Compteurs de commentaires corrigés en masse
+    public static CatalogChangedEvent commentCounts() {
+        return new CatalogChangedEvent(Type.COMMENT_COUNTS, null);
+    }
+
+    // Nom affiché d'un auteur modifié
+    public static CatalogChangedEvent author(Long authorId) {
+        return new CatalogChangedEvent(Type.AUTHOR, authorId);
+    }
+
+    // Utilisateur créé ou supprimé (statistiques publiques)
+    public static CatalogChangedEvent users() {
+        return new CatalogChangedEvent(Type.USERS, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Recette (COMMENT) ou auteur (AUTHOR) concerné, null sinon
+     */
+    public Long getId() {
+        return id;
+    }
+
+    // Les listes de recettes affichent-elles une donnée modifiée ?
+    public boolean affectsRecipes() {
+        return type != Type.USERS;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cooking.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version globale du catalogue, base des ETag faibles des listes de recettes.
+ * Incrémentée après chaque commit qui modifie une recette ou ce qui s'affiche avec elle ;
+ * l'époque de démarrage invalide les ETag émis par une instance précédente.
+ * Les créations et suppressions d'utilisateurs, invisibles dans les listes, ont leur propre compteur.
+ */
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.affectsRecipes()) {
+            version.incrementAndGet();
+        } else {
+            users.incrementAndGet();
+        }
+    }
+
+    /**
+     * ETag faible de l'état courant : à lire avant d'exécuter la requête,
+     * pour qu'une écriture concurrente ne soit jamais masquée par un ETag plus récent que la réponse
+     */
+    public String weakETag() {
+        return "W/\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    /**
+     * Version des statistiques publiques (catalogue et utilisateurs), à lire avant les COUNT
+     * comme {@link #weakETag()}
+     */
+    public String statsVersion() {
+        return epoch + "-" + version.get() + "-" + users.get();
+    }
+}
@@ -0,0 +1,89 @@
+package com.cooking.event;
+
+import com.cooking.entity.Ingredient;
+import com.cooking.entity.Recipe;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Événement publié lors de la création, modification ou suppression d'une recette
+ */
+public class RecipeChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long recipeId;
+    private final String title;
+    private final String ingredients;
+    private final String keywords;
+    private final Map<Long, String> ingredientItems;
+
+    private RecipeChangedEvent(Type type, Long recipeId, String title, String ingredients, String keywords,
+                               Map<Long, String> ingredientItems) {
+        this.type = type;
+        this.recipeId = recipeId;
+        this.title = title;
+        this.ingredients = ingredients;
+        this.keywords = keywords;
+        this.ingredientItems = ingredientItems;
+    }
+
+    public static RecipeChangedEvent created(Recipe recipe) {
+        return new RecipeChangedEvent(Type.CREATED, recipe.getId(), recipe.getTitle(),
+            recipe.getIngredients(), recipe.getKeywords(), ingredientItemsOf(recipe));
+    }
+
+    public static RecipeChangedEvent updated(Recipe recipe) {
+        return new RecipeChangedEvent(Type.UPDATED, recipe.getId(), recipe.getTitle(),
+            recipe.getIngredients(), recipe.getKeywords(), ingredientItemsOf(recipe));
+    }
+
+    public static RecipeChangedEvent deleted(Long recipeId) {
+        return new RecipeChangedEvent(Type.DELETED, recipeId, null, null, null, Map.of());
+    }
+
+    private static Map<Long, String> ingredientItemsOf(Recipe recipe) {
+        Map<Long, String> items = new HashMap<>();
+        if (recipe.getIngredientItems() != null) {
+            for (Ingredient ingredient : recipe.getIngredientItems()) {
+                items.put(ingredient.getId(), ingredient.getName());
+            }
+        }
+        return items;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getRecipeId() {
+        return recipeId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getIngredients() {
+        return ingredients;
+    }
+
+    public String getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * Ingrédients canoniques de la recette (identifiant → nom)
+     */
+    public Map<Long, String> getIngredientItems() {
+        return ingredientItems;
+    }
+
+    public boolean isDeletion() {
+        return type == Type.DELETED;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cooking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Jeton de pagination (paramètre cursor) illisible ou altéré
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        this(null);
+    }
+
+    public InvalidCursorException(Throwable cause) {
+        super("Curseur de pagination invalide", cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.cooking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Paramètre fields contenant un champ inconnu
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String field, Iterable<String> allowed) {
+        super("Champ inconnu : " + field + " (champs disponibles : " + String.join(", ", allowed) + ")");
+    }
+}
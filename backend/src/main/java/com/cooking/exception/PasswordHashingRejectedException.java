@@ -0,0 +1,22 @@
+package com.cooking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Le pool de hachage des mots de passe est saturé : la requête doit être retentée plus tard
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Service momentanément surchargé, veuillez réessayer dans quelques secondes");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
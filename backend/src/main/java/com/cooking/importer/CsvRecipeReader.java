@@ -0,0 +1,171 @@
+package com.cooking.importer;
+
+import com.cooking.dto.RecipeRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV (RFC 4180) avec une ligne d'en-tête : colonnes title, ingredients, instructions, keywords
+ * dans un ordre quelconque, les autres sont ignorées. Séparateur virgule ou point-virgule (Excel en français),
+ * déduit de l'en-tête. Les champs entre guillemets peuvent contenir séparateurs et sauts de ligne.
+ */
+class CsvRecipeReader implements RecipeImportReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private char delimiter;
+    private int pushback = NONE;
+    private long lineNumber = 1;
+
+    private final int columns;
+    private final int titleColumn;
+    private final int ingredientsColumn;
+    private final int instructionsColumn;
+    private final int keywordsColumn;
+
+    // Résultat du dernier enregistrement lu
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private long recordLine;
+    private String recordError;
+
+    CsvRecipeReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+
+        List<String> header = new ArrayList<>();
+        if (readRecord()) {
+            for (String name : fields) {
+                header.add(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        this.columns = header.size();
+        this.titleColumn = header.indexOf("title");
+        this.ingredientsColumn = header.indexOf("ingredients");
+        this.instructionsColumn = header.indexOf("instructions");
+        this.keywordsColumn = header.indexOf("keywords");
+        if (titleColumn < 0 || ingredientsColumn < 0) {
+            throw new IllegalArgumentException("En-tête CSV invalide : les colonnes title et ingredients sont obligatoires");
+        }
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        while (readRecord()) {
+            if (recordError != null) {
+                return ImportRecord.invalid(recordLine, recordError);
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue; // ligne vide
+            }
+            if (fields.size() != columns) {
+                return ImportRecord.invalid(recordLine,
+                    columns + " colonnes attendues, " + fields.size() + " trouvées");
+            }
+
+            RecipeRequest request = new RecipeRequest();
+            request.setTitle(fields.get(titleColumn));
+            request.setIngredients(fields.get(ingredientsColumn));
+            request.setInstructions(column(instructionsColumn));
+            request.setKeywords(column(keywordsColumn));
+            return ImportRecord.of(recordLine, request);
+        }
+        return null;
+    }
+
+    private String column(int index) {
+        if (index < 0 || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    /**
+     * Lire l'enregistrement suivant dans fields (false en fin de flux)
+     */
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordError = null;
+
+        int c = read();
+        if (c == -1) {
+            return false;
+        }
+        recordLine = lineNumber;
+
+        boolean inQuotes = false;
+        boolean quoted = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    recordError = "Guillemet non fermé";
+                    fields.add(field.toString());
+                    return true;
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        pushback = next;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (isDelimiter(c)) {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushback = next;
+                    }
+                }
+                if (c != -1) {
+                    lineNumber++;
+                }
+                fields.add(field.toString());
+                return true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private boolean isDelimiter(int c) {
+        if (delimiter == 0 && (c == ',' || c == ';')) {
+            delimiter = (char) c; // premier séparateur rencontré dans l'en-tête
+        }
+        return delimiter != 0 && c == delimiter;
+    }
+
+    private int read() throws IOException {
+        if (pushback != NONE) {
+            int c = pushback;
+            pushback = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
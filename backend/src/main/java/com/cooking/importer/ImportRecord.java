@@ -0,0 +1,36 @@
+package com.cooking.importer;
+
+import com.cooking.dto.RecipeRequest;
+
+/**
+ * Une recette lue dans le flux d'import, ou l'erreur de lecture de sa ligne
+ */
+public class ImportRecord {
+
+    private final long line;
+    private final RecipeRequest request;
+    private final String error;
+
+    private ImportRecord(long line, RecipeRequest request, String error) {
+        this.line = line;
+        this.request = request;
+        this.error = error;
+    }
+
+    public static ImportRecord of(long line, RecipeRequest request) {
+        return new ImportRecord(line, request, null);
+    }
+
+    public static ImportRecord invalid(long line, String error) {
+        return new ImportRecord(line, null, error);
+    }
+
+    /** Numéro de la ligne (à partir de 1) où commence l'enregistrement */
+    public long getLine() { return line; }
+
+    public RecipeRequest getRequest() { return request; }
+
+    public String getError() { return error; }
+
+    public boolean isValid() { return error == null; }
+}
@@ -0,0 +1,51 @@
+package com.cooking.importer;
+
+import com.cooking.dto.RecipeRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Un objet JSON par ligne ; les lignes vides sont ignorées
+ */
+class NdjsonRecipeReader implements RecipeImportReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader recipeReader;
+    private long lineNumber;
+
+    NdjsonRecipeReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.recipeReader = objectMapper.readerFor(RecipeRequest.class);
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                RecipeRequest request = recipeReader.readValue(line);
+                if (request == null) {
+                    return ImportRecord.invalid(lineNumber, "Objet JSON attendu");
+                }
+                return ImportRecord.of(lineNumber, request);
+            } catch (JsonProcessingException e) {
+                return ImportRecord.invalid(lineNumber, "JSON invalide : " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
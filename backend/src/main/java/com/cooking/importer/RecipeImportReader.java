@@ -0,0 +1,28 @@
+package com.cooking.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lecture incrémentale d'un flux d'import : un enregistrement à la fois, jamais le fichier entier en mémoire
+ */
+public interface RecipeImportReader extends Closeable {
+
+    /**
+     * Enregistrement suivant (null en fin de flux). Une ligne illisible donne un enregistrement
+     * en erreur sans interrompre la lecture des suivantes.
+     */
+    ImportRecord next() throws IOException;
+
+    static RecipeImportReader ndjson(Reader reader, ObjectMapper objectMapper) {
+        return new NdjsonRecipeReader(reader, objectMapper);
+    }
+
+    /** @throws IllegalArgumentException si l'en-tête ne contient pas les colonnes obligatoires */
+    static RecipeImportReader csv(Reader reader) throws IOException {
+        return new CsvRecipeReader(reader);
+    }
+}
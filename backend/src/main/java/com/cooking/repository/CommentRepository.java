@@ -3,7 +3,10 @@ package com.cooking.repository;
 import com.cooking.entity.Comment;
 import com.cooking.entity.Recipe;
 import com.cooking.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +14,11 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     
+    // Résultat gardé dans le cache de requêtes jusqu'à la prochaine écriture sur comments
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long count();
+    
     // Recherche par recette
     List<Comment> findByRecipe(Recipe recipe);
     
@@ -0,0 +1,17 @@
+package com.cooking.repository;
+
+import com.cooking.entity.EmailCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmailCampaignRepository extends JpaRepository<EmailCampaign, Long> {
+
+    // Campagne à faire avancer (la plus ancienne en cours)
+    Optional<EmailCampaign> findFirstByStatusOrderByIdAsc(EmailCampaign.Status status);
+
+    List<EmailCampaign> findAllByOrderByIdDesc();
+}
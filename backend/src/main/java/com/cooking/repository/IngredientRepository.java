@@ -0,0 +1,31 @@
+package com.cooking.repository;
+
+import com.cooking.entity.Ingredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
+
+    Optional<Ingredient> findByName(String name);
+
+    List<Ingredient> findByNameIn(Collection<String> names);
+
+    // Parcours de la table de jointure recette-ingrédient (construction de l'index), par tranche d'identifiants
+    // de recettes : table de jointure seule, lue dans l'ordre de sa clé primaire (recipe_id, ingredient_id).
+    // Lignes brutes : une projection par interface coûterait un proxy par lien
+    @Query(value = "SELECT recipe_id, ingredient_id FROM recipe_ingredients " +
+                   "WHERE recipe_id > :afterRecipeId AND recipe_id <= :lastRecipeId " +
+                   "ORDER BY recipe_id, ingredient_id", nativeQuery = true)
+    List<Object[]> findLinksBetween(@Param("afterRecipeId") long afterRecipeId,
+                                    @Param("lastRecipeId") long lastRecipeId);
+
+    @Query(value = "SELECT COALESCE(MAX(recipe_id), 0) FROM recipe_ingredients", nativeQuery = true)
+    long findMaxLinkedRecipeId();
+}
@@ -0,0 +1,25 @@
+package com.cooking.repository;
+
+import com.cooking.entity.OutboxEmail;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    // Prochain lot à envoyer : messages en attente dont l'échéance de (re)tentative est passée
+    @Query("SELECT e FROM OutboxEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.nextAttemptAt, e.id")
+    List<OutboxEmail> findDue(@Param("status") OutboxEmail.Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    Page<OutboxEmail> findByStatusOrderByIdDesc(OutboxEmail.Status status, Pageable pageable);
+
+    long countByStatus(OutboxEmail.Status status);
+}
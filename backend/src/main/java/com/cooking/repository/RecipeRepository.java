@@ -1,19 +1,34 @@
 package com.cooking.repository;
 
+import com.cooking.dto.RecipeDetailRow;
+import com.cooking.dto.RecipeSummary;
+import com.cooking.dto.RecipeTextView;
+import com.cooking.dto.RecipeVersion;
 import com.cooking.entity.Recipe;
 import com.cooking.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, RecipeRepositoryCustom {
+
+       // Résultat gardé dans le cache de requêtes jusqu'à la prochaine écriture sur recipes
+       @Override
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+       long count();
 
        // Recherche par auteur
        List<Recipe> findByAuthor(User author);
@@ -54,7 +69,63 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
                      @Param("authorId") Long authorId,
                      Pageable pageable);
 
-       // Recettes récentes
+       // Parcours des champs texte par identifiant croissant (construction des index)
+       @Query("SELECT r.id AS id, r.title AS title, r.ingredients AS ingredients, r.keywords AS keywords " +
+                     "FROM Recipe r WHERE r.id > :afterId ORDER BY r.id")
+       List<RecipeTextView> findTextViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+       // Cartes de liste : ni ingrédients ni instructions, seulement le début des ingrédients pour l'extrait
+       String SUMMARY_SELECT = "SELECT new com.cooking.dto.RecipeSummary(" +
+                     "r.id, r.title, r.keywords, r.createdAt, SUBSTRING(r.ingredients, 1, " +
+                     (RecipeSummary.TEASER_LENGTH + 1) + "), " +
+                     "a.id, a.username, a.firstName, a.lastName, " +
+                     "r.commentCount) " +
+                     "FROM Recipe r JOIN r.author a";
+
+       // Recettes complètes d'une page de cartes (view=full) : recette, auteur et nombre de commentaires
+       String DETAIL_SELECT = "SELECT new com.cooking.dto.RecipeDetailRow(" +
+                     "r.id, r.title, r.ingredients, r.instructions, r.keywords, r.createdAt, " +
+                     "a.id, a.username, a.firstName, a.lastName, " +
+                     "r.commentCount) " +
+                     "FROM Recipe r JOIN r.author a";
+
+       @Query(value = SUMMARY_SELECT,
+                     countQuery = "SELECT COUNT(r) FROM Recipe r")
+       Page<RecipeSummary> findSummaries(Pageable pageable);
+
+       @Query(value = SUMMARY_SELECT + " WHERE a.id = :authorId",
+                     countQuery = "SELECT COUNT(r) FROM Recipe r WHERE r.author.id = :authorId")
+       Page<RecipeSummary> findSummariesByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+       @Query(SUMMARY_SELECT + " WHERE r.id IN :ids")
+       List<RecipeSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+       @Query(DETAIL_SELECT + " WHERE r.id IN :ids")
+       List<RecipeDetailRow> findDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+       @Query(SUMMARY_SELECT + " ORDER BY r.createdAt DESC")
+       List<RecipeSummary> findRecentSummaries(Pageable pageable);
+
+       // Pagination par curseur sur (createdAt, id) décroissants : pas d'OFFSET ni de COUNT
+       @Query(SUMMARY_SELECT + " ORDER BY r.createdAt DESC, r.id DESC")
+       List<RecipeSummary> findSummariesFirst(Pageable limit);
+
+       @Query(SUMMARY_SELECT + " WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id) " +
+                     "ORDER BY r.createdAt DESC, r.id DESC")
+       List<RecipeSummary> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id, Pageable limit);
+
+       @Query(SUMMARY_SELECT + " WHERE a.id = :authorId ORDER BY r.createdAt DESC, r.id DESC")
+       List<RecipeSummary> findSummariesByAuthorIdFirst(@Param("authorId") Long authorId, Pageable limit);
+
+       @Query(SUMMARY_SELECT + " WHERE a.id = :authorId AND " +
+                     "(r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+                     "ORDER BY r.createdAt DESC, r.id DESC")
+       List<RecipeSummary> findSummariesByAuthorIdAfter(@Param("authorId") Long authorId,
+                     @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+       // Recettes récentes (identifiants en cache de requêtes, recettes en cache de second niveau)
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
        List<Recipe> findTop10ByOrderByCreatedAtDesc();
 
        Page<Recipe> findAllByOrderByCreatedAtDesc(Pageable pageable);
@@ -71,12 +142,28 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
        @Query("SELECT r FROM Recipe r LEFT JOIN FETCH r.comments WHERE r.id = :recipeId")
        Recipe findByIdWithComments(@Param("recipeId") Long recipeId);
 
-       // Recettes populaires (avec le plus de commentaires)
-       @Query("SELECT r FROM Recipe r LEFT JOIN r.comments c " +
-                     "GROUP BY r.id " +
-                     "ORDER BY COUNT(c) DESC")
+       // Recettes populaires (avec le plus de commentaires), parcours de l'index sur comment_count
+       @Query("SELECT r FROM Recipe r ORDER BY r.commentCount DESC, r.id DESC")
        List<Recipe> findMostCommentedRecipes(Pageable pageable);
 
+       // Versions seules, par clé primaire : suffisent à valider un ETag sans charger la recette
+       @Query("SELECT r.version AS version, r.representationVersion AS representationVersion " +
+                     "FROM Recipe r WHERE r.id = :id")
+       Optional<RecipeVersion> findVersionById(@Param("id") Long id);
+
+       // Corriger les compteurs qui ne correspondent plus au nombre réel de commentaires
+       @Modifying
+       @Query("UPDATE Recipe r SET r.representationVersion = r.representationVersion + 1, r.commentCount = " +
+                     "(SELECT COUNT(c) FROM Comment c WHERE c.recipe = r) " +
+                     "WHERE r.commentCount <> (SELECT COUNT(c) FROM Comment c WHERE c.recipe = r)")
+       int reconcileCommentCounts();
+
+       // Le nom de l'auteur fait partie de la représentation de ses recettes
+       @Modifying
+       @Query("UPDATE Recipe r SET r.representationVersion = r.representationVersion + 1 " +
+                     "WHERE r.author.id = :authorId")
+       int bumpRepresentationVersionByAuthorId(@Param("authorId") Long authorId);
+
        // Vérifier si l'utilisateur est propriétaire de la recette
        @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END " +
                      "FROM Recipe r WHERE r.id = :recipeId AND r.author.id = :userId")
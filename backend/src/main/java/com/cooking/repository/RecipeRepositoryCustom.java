@@ -0,0 +1,27 @@
+package com.cooking.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lecture des recettes limitée aux champs demandés (?fields=) et compteurs de commentaires
+ */
+public interface RecipeRepositoryCustom {
+
+    Page<Map<String, Object>> findFields(String fields, Pageable pageable);
+
+    Optional<Map<String, Object>> findFieldsById(Long id, String fields);
+
+    /**
+     * Commentaire ajouté : compteur et version d'affichage incrémentés côté base (nombre de lignes modifiées)
+     */
+    int incrementCommentCount(Long recipeId);
+
+    /**
+     * Commentaire supprimé : compteur décrémenté s'il est positif, version d'affichage incrémentée
+     */
+    int decrementCommentCount(Long recipeId);
+}
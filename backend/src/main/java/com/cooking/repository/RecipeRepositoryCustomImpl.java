@@ -0,0 +1,124 @@
+package com.cooking.repository;
+
+import com.cooking.entity.Recipe;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Projections dynamiques des recettes : mêmes noms de champs que RecipeResponse.
+ * La jointure vers l'auteur n'est faite que si un champ author.* est demandé.
+ * Compteurs de commentaires : UPDATE natifs qui ne sortent du cache de second niveau que la recette modifiée.
+ */
+public class RecipeRepositoryCustomImpl implements RecipeRepositoryCustom {
+
+    static final SparseFieldSet<Recipe> FIELDS = new SparseFieldSet<Recipe>()
+        .attribute("id", "id")
+        .attribute("title", "title")
+        .attribute("ingredients", "ingredients")
+        .attribute("instructions", "instructions")
+        .attribute("keywords", "keywords")
+        .attribute("createdAt", "createdAt")
+        .field("commentsCount", (root, query, cb) -> root.get("commentCount"),
+            count -> ((Number) count).intValue())
+        .joined("author.id", "author", "id")
+        .joined("author.username", "author", "username")
+        .joined("author.firstName", "author", "firstName")
+        .joined("author.lastName", "author", "lastName");
+
+    // Le verrou optimiste n'est pas touché : une modification concurrente de la recette n'échoue donc pas
+    private static final String INCREMENT_COMMENT_COUNT = "UPDATE recipes SET comment_count = comment_count + 1, " +
+        "representation_version = representation_version + 1 WHERE id = ?";
+    private static final String DECREMENT_COMMENT_COUNT = "UPDATE recipes SET comment_count = comment_count - 1, " +
+        "representation_version = representation_version + 1 WHERE id = ? AND comment_count > 0";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findFields(String fields, Pageable pageable) {
+        List<String> names = FIELDS.resolve(fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Recipe> recipe = query.from(Recipe.class);
+        FIELDS.select(query, recipe, cb, names);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), recipe, cb));
+
+        List<Map<String, Object>> rows = entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultStream()
+            .map(tuple -> FIELDS.toRow(tuple, names))
+            .toList();
+
+        // Le COUNT n'est exécuté que si la page ne suffit pas à connaître le total
+        return PageableExecutionUtils.getPage(rows, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            count.select(cb.count(count.from(Recipe.class)));
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, String fields) {
+        List<String> names = FIELDS.resolve(fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Recipe> recipe = query.from(Recipe.class);
+        FIELDS.select(query, recipe, cb, names);
+        query.where(cb.equal(recipe.get("id"), id));
+
+        return entityManager.createQuery(query).getResultStream()
+            .findFirst()
+            .map(tuple -> FIELDS.toRow(tuple, names));
+    }
+
+    @Override
+    public int incrementCommentCount(Long recipeId) {
+        return updateCommentCount(INCREMENT_COMMENT_COUNT, recipeId);
+    }
+
+    @Override
+    public int decrementCommentCount(Long recipeId) {
+        return updateCommentCount(DECREMENT_COMMENT_COUNT, recipeId);
+    }
+
+    // Une mise à jour en masse (JPQL, ou SQL natif sans espace déclaré) viderait toute la région des recettes
+    // et invaliderait toutes les requêtes en cache sur recipes. Ici l'espace synchronisé est vide : aucune
+    // requête en cache ne lit comment_count (count() et les 10 plus récentes n'en dépendent pas), et seule
+    // l'entrée de la recette est verrouillée jusqu'à la fin de la transaction, comme pour une mise à jour
+    // d'entité : une lecture concurrente ne peut pas y remettre l'ancien compteur avant le commit.
+    private int updateCommentCount(String sql, Long recipeId) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getRuntimeMetamodels().getMappingMetamodel()
+            .getEntityDescriptor(Recipe.class);
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        Object key = cache.generateCacheKey(recipeId, persister, session.getFactory(), session.getTenantIdentifier());
+        SoftLock lock = cache.lockItem(session, key, null);
+        session.getActionQueue().registerProcess((success, completed) -> cache.unlockItem(completed, key, lock));
+
+        return entityManager.createNativeQuery(sql)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace("")
+            .setParameter(1, recipeId)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,135 @@
+package com.cooking.repository;
+
+import com.cooking.exception.InvalidFieldsException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Champs qu'un client peut demander avec ?fields= : chaque nom public (éventuellement pointé, "author.username")
+ * correspond à une expression de la requête Criteria. Seules les colonnes demandées sont lues en base,
+ * et la ligne renvoyée (Map imbriquée) ne contient que ces champs.
+ */
+public final class SparseFieldSet<T> {
+
+    @FunctionalInterface
+    public interface Selector<T> {
+        Expression<?> select(From<?, T> root, CriteriaQuery<?> query, CriteriaBuilder cb);
+    }
+
+    private static final class Field<T> {
+        final Selector<T> selector;
+        final Function<Object, Object> converter;
+
+        Field(Selector<T> selector, Function<Object, Object> converter) {
+            this.selector = selector;
+            this.converter = converter;
+        }
+    }
+
+    private final Map<String, Field<T>> fields = new LinkedHashMap<>();
+
+    public SparseFieldSet<T> field(String name, Selector<T> selector) {
+        return field(name, selector, Function.identity());
+    }
+
+    public SparseFieldSet<T> field(String name, Selector<T> selector, Function<Object, Object> converter) {
+        fields.put(name, new Field<>(selector, converter));
+        return this;
+    }
+
+    /** Attribut simple de l'entité */
+    public SparseFieldSet<T> attribute(String name, String attribute) {
+        return field(name, (root, query, cb) -> root.get(attribute));
+    }
+
+    /** Attribut d'une association à un seul élément (jointure externe partagée par tous les champs) */
+    public SparseFieldSet<T> joined(String name, String association, String attribute) {
+        return field(name, (root, query, cb) -> join(root, association).get(attribute));
+    }
+
+    /**
+     * Noms demandés, validés et dans l'ordre de déclaration ; null ou vide = tous les champs.
+     * Un préfixe ("author") désigne tous les champs "author.*".
+     */
+    public List<String> resolve(String requested) {
+        if (requested == null || requested.isBlank()) {
+            return new ArrayList<>(fields.keySet());
+        }
+        Set<String> wanted = new LinkedHashSet<>();
+        for (String raw : requested.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            int before = wanted.size();
+            for (String field : fields.keySet()) {
+                if (field.equals(name) || field.startsWith(name + ".")) {
+                    wanted.add(field);
+                }
+            }
+            if (wanted.size() == before && !fields.containsKey(name)) {
+                throw new InvalidFieldsException(name, fields.keySet());
+            }
+        }
+        if (wanted.isEmpty()) {
+            return new ArrayList<>(fields.keySet());
+        }
+        List<String> ordered = new ArrayList<>();
+        for (String field : fields.keySet()) {
+            if (wanted.contains(field)) {
+                ordered.add(field);
+            }
+        }
+        return ordered;
+    }
+
+    /** Clause SELECT de la requête pour les champs résolus */
+    public void select(CriteriaQuery<Tuple> query, From<?, T> root, CriteriaBuilder cb, List<String> names) {
+        List<Selection<?>> selections = new ArrayList<>(names.size());
+        for (String name : names) {
+            selections.add(fields.get(name).selector.select(root, query, cb));
+        }
+        query.multiselect(selections);
+    }
+
+    /** Ligne JSON : les noms pointés deviennent des objets imbriqués */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> toRow(Tuple tuple, List<String> names) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            Object value = fields.get(name).converter.apply(tuple.get(i));
+            Map<String, Object> target = row;
+            int dot;
+            while ((dot = name.indexOf('.')) > 0) {
+                target = (Map<String, Object>) target.computeIfAbsent(name.substring(0, dot), key -> new LinkedHashMap<>());
+                name = name.substring(dot + 1);
+            }
+            target.put(name, value);
+        }
+        return row;
+    }
+
+    private static <T> Join<T, ?> join(From<?, T> root, String association) {
+        for (Join<T, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals(association)) {
+                return join;
+            }
+        }
+        return root.join(association, JoinType.LEFT);
+    }
+}
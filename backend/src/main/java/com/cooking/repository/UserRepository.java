@@ -1,8 +1,13 @@
 package com.cooking.repository;
 
+import com.cooking.dto.CampaignRecipient;
 import com.cooking.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -10,7 +15,12 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    
+    // Résultat gardé dans le cache de requêtes jusqu'à la prochaine écriture sur users
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long count();
     
     // Méthodes de recherche principales
     Optional<User> findByUsername(String username);
@@ -64,4 +74,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "LOWER(CONCAT(COALESCE(u.firstName, ''), ' ', COALESCE(u.lastName, ''))) " +
            "LIKE LOWER(CONCAT('%', :fullName, '%'))")
     List<User> findByFullNameContaining(@Param("fullName") String fullName);
+    
+    // Destinataires de campagne : utilisateurs actifs et vérifiés, parcourus par id croissant (keyset)
+    @Query("SELECT new com.cooking.dto.CampaignRecipient(u.id, u.username, u.firstName, u.email) FROM User u " +
+           "WHERE u.id > :afterId AND u.enabled = true AND u.emailVerified = true ORDER BY u.id")
+    List<CampaignRecipient> findCampaignRecipientsAfter(@Param("afterId") long afterId, Pageable pageable);
+    
+    @Query("SELECT COUNT(u) FROM User u WHERE u.enabled = true AND u.emailVerified = true")
+    long countCampaignRecipients();
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.cooking.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lecture des utilisateurs limitée aux champs demandés (?fields=)
+ */
+public interface UserRepositoryCustom {
+
+    List<Map<String, Object>> findAllFields(String fields);
+}
@@ -0,0 +1,61 @@
+package com.cooking.repository;
+
+import com.cooking.entity.Comment;
+import com.cooking.entity.Recipe;
+import com.cooking.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projections dynamiques des utilisateurs : mêmes noms et mêmes valeurs que UserSummary.
+ * Les compteurs sont des sous-requêtes, calculées seulement s'ils sont demandés
+ * (UserSummary les obtient en chargeant les collections de chaque utilisateur).
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    static final SparseFieldSet<User> FIELDS = new SparseFieldSet<User>()
+        .attribute("id", "id")
+        .attribute("username", "username")
+        .attribute("email", "email")
+        .field("role", (root, query, cb) -> root.get("role"),
+            role -> ((User.Role) role).name().toLowerCase())
+        .field("status", (root, query, cb) -> root.get("enabled"),
+            enabled -> Boolean.TRUE.equals(enabled) ? "active" : "suspended")
+        .attribute("createdAt", "createdAt")
+        .field("recipesCount", (root, query, cb) -> {
+            Subquery<Long> count = query.subquery(Long.class);
+            Root<Recipe> recipe = count.from(Recipe.class);
+            return count.select(cb.count(recipe)).where(cb.equal(recipe.get("author"), root));
+        }, count -> ((Number) count).intValue())
+        .field("commentsCount", (root, query, cb) -> {
+            Subquery<Long> count = query.subquery(Long.class);
+            Root<Comment> comment = count.from(Comment.class);
+            return count.select(cb.count(comment)).where(cb.equal(comment.get("user"), root));
+        }, count -> ((Number) count).intValue());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(String fields) {
+        List<String> names = FIELDS.resolve(fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> user = query.from(User.class);
+        FIELDS.select(query, user, cb, names);
+        query.orderBy(cb.asc(user.get("id")));
+
+        return entityManager.createQuery(query).getResultStream()
+            .map(tuple -> FIELDS.toRow(tuple, names))
+            .toList();
+    }
+}
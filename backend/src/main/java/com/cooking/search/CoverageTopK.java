@@ -0,0 +1,137 @@
+package com.cooking.search;
+
+/**
+ * Tas minimal borné des k recettes les mieux couvertes par le garde-manger.
+ * Ordre : couverture décroissante, puis moins d'ingrédients manquants, puis la plus récente.
+ */
+final class CoverageTopK {
+
+    private final int capacity;
+    private final int[] ids;
+    private final int[] matched;
+    private final int[] totals;
+    private int size;
+
+    CoverageTopK(int capacity) {
+        this.capacity = capacity;
+        this.ids = new int[capacity];
+        this.matched = new int[capacity];
+        this.totals = new int[capacity];
+    }
+
+    void offer(int id, int matchedCount, int total) {
+        if (capacity == 0) {
+            return;
+        }
+        if (size < capacity) {
+            ids[size] = id;
+            matched[size] = matchedCount;
+            totals[size] = total;
+            siftUp(size++);
+        } else if (better(id, matchedCount, total, 0)) {
+            ids[0] = id;
+            matched[0] = matchedCount;
+            totals[0] = total;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Fusionner le tas d'un autre segment dans celui-ci
+     */
+    CoverageTopK merge(CoverageTopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.matched[i], other.totals[i]);
+        }
+        return this;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Vider le tas du meilleur au moins bon : triplets (id, possédés, total) consécutifs
+     */
+    int[] drainDescending() {
+        int[] ranked = new int[size * 3];
+        for (int i = size - 1; i >= 0; i--) {
+            ranked[i * 3] = ids[0];
+            ranked[i * 3 + 1] = matched[0];
+            ranked[i * 3 + 2] = totals[0];
+            size--;
+            move(size, 0);
+            siftDown(0);
+        }
+        return ranked;
+    }
+
+    // Comparaison exacte des fractions possédés / total par produit en croix
+    private static boolean better(int id, int matchedCount, int total, int otherId, int otherMatched, int otherTotal) {
+        long coverage = (long) matchedCount * otherTotal;
+        long otherCoverage = (long) otherMatched * total;
+        if (coverage != otherCoverage) {
+            return coverage > otherCoverage;
+        }
+        int missing = total - matchedCount;
+        int otherMissing = otherTotal - otherMatched;
+        if (missing != otherMissing) {
+            return missing < otherMissing;
+        }
+        return id > otherId;
+    }
+
+    private boolean better(int id, int matchedCount, int total, int index) {
+        return better(id, matchedCount, total, ids[index], matched[index], totals[index]);
+    }
+
+    private boolean better(int a, int b) {
+        return better(ids[a], matched[a], totals[a], b);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(parent, index)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int smallest = left;
+            if (right < size && better(left, right)) {
+                smallest = right;
+            }
+            if (!better(index, smallest)) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        matched[to] = matched[from];
+        totals[to] = totals[from];
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        int matchedCount = matched[a];
+        int total = totals[a];
+        move(b, a);
+        ids[b] = id;
+        matched[b] = matchedCount;
+        totals[b] = total;
+    }
+}
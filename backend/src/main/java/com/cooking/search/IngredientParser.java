@@ -0,0 +1,108 @@
+package com.cooking.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Extraction des ingrédients canoniques d'un texte libre :
+ * une ligne (ou un élément séparé par virgule / point-virgule) par ingrédient,
+ * sans quantités ni unités, chaque mot ramené au singulier.
+ *
+ * Exemple : "200 g de chocolats noirs (70%)" → "chocolat noir", "50cl de lait" → "lait", "1/2 citron" → "citron"
+ */
+public final class IngredientParser {
+
+    private static final int MAX_WORDS = 4;
+    private static final int MAX_NAME_LENGTH = 100;
+
+    private static final Set<String> UNITS = Set.of(
+        "g", "gr", "gramme", "kg", "kilo", "mg", "ml", "cl", "dl", "l", "litre",
+        "cuillere", "cuil", "cas", "cac", "cs", "cc", "c", "tasse", "verre", "bol",
+        "pincee", "sachet", "tranche", "gousse", "boite", "pot", "brin", "botte", "feuille", "morceau",
+        "filet", "zeste", "poignee", "barquette",
+        "cup", "tbsp", "tsp", "oz", "lb", "pinch", "slice", "can", "tablespoon", "teaspoon"
+    );
+
+    // "cuillère à soupe", "c. à café" : le complément de l'unité n'est pas un ingrédient
+    private static final Set<String> SPOON_UNITS = Set.of("cuillere", "cuil", "c");
+    private static final Set<String> SPOON_QUALIFIERS = Set.of("soupe", "cafe", "the");
+
+    // Mots qui se terminent par s ou x au singulier
+    private static final Set<String> INVARIABLE = Set.of(
+        "ananas", "anis", "cassis", "colis", "jus", "mais", "noix", "pois", "radis", "riz", "houx"
+    );
+
+    private IngredientParser() {
+    }
+
+    /**
+     * Noms canoniques distincts d'une liste d'ingrédients en texte libre
+     */
+    public static Set<String> parse(String ingredientsText) {
+        Set<String> names = new LinkedHashSet<>();
+        if (ingredientsText == null) {
+            return names;
+        }
+        for (String line : ingredientsText.split("[\\n\\r,;•]+")) {
+            String name = canonicalName(line);
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Nom canonique d'une seule ligne d'ingrédient ("" si rien d'exploitable)
+     */
+    public static String canonicalName(String line) {
+        // Les précisions entre parenthèses ne font pas partie du nom
+        String withoutDetails = line.replaceAll("\\([^)]*\\)", " ");
+
+        List<String> words = new ArrayList<>();
+        boolean afterSpoon = false;
+        for (String token : RecipeTextAnalyzer.tokenize(withoutDetails)) {
+            String word = singular(token);
+            if (afterSpoon && SPOON_QUALIFIERS.contains(word)) {
+                afterSpoon = false;
+                continue;
+            }
+            afterSpoon = SPOON_UNITS.contains(word);
+            if (isQuantity(word) || UNITS.contains(word)) {
+                continue;
+            }
+            words.add(word);
+            if (words.size() == MAX_WORDS) {
+                break;
+            }
+        }
+
+        String name = String.join(" ", words);
+        return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+    }
+
+    // Pluriels réguliers : "oeufs" → "oeuf", "choux" → "chou"
+    static String singular(String word) {
+        if (INVARIABLE.contains(word)) {
+            return word;
+        }
+        if (word.length() > 3 && (word.endsWith("s") || word.endsWith("x")) && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    // Nombre seul ("200", chaque moitié de "1/2" ou de "1.5"), ou collé à son unité ("200g", "50cl", "2cs")
+    static boolean isQuantity(String word) {
+        int digits = 0;
+        while (digits < word.length() && Character.isDigit(word.charAt(digits))) {
+            digits++;
+        }
+        if (digits == 0) {
+            return false;
+        }
+        return digits == word.length() || UNITS.contains(singular(word.substring(digits)));
+    }
+}
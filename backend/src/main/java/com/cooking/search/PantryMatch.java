@@ -0,0 +1,43 @@
+package com.cooking.search;
+
+/**
+ * Couverture d'une recette par le garde-manger : ingrédients possédés et manquants
+ */
+public class PantryMatch {
+
+    private final int recipeId;
+    private final int matchedCount;
+    private final int ingredientCount;
+    private final int[] missingIngredientIds;
+
+    PantryMatch(int recipeId, int matchedCount, int ingredientCount, int[] missingIngredientIds) {
+        this.recipeId = recipeId;
+        this.matchedCount = matchedCount;
+        this.ingredientCount = ingredientCount;
+        this.missingIngredientIds = missingIngredientIds;
+    }
+
+    public int getRecipeId() {
+        return recipeId;
+    }
+
+    public int getMatchedCount() {
+        return matchedCount;
+    }
+
+    public int getIngredientCount() {
+        return ingredientCount;
+    }
+
+    public int getMissingCount() {
+        return ingredientCount - matchedCount;
+    }
+
+    public double getCoverage() {
+        return ingredientCount == 0 ? 0.0 : (double) matchedCount / ingredientCount;
+    }
+
+    public int[] getMissingIngredientIds() {
+        return missingIngredientIds;
+    }
+}
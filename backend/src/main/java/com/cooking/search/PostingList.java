@@ -0,0 +1,77 @@
+package com.cooking.search;
+
+import java.util.Arrays;
+
+/**
+ * Liste triée d'identifiants de recettes, stockée dans un tableau d'entiers.
+ * Chaque entrée conserve la fréquence du terme dans chacun des champs indexés.
+ */
+final class PostingList {
+
+    private static final int FIELDS = RecipeField.COUNT;
+
+    private int[] ids = new int[4];
+    private int[] frequencies = new int[4 * FIELDS];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return ids[index];
+    }
+
+    int frequency(int index, RecipeField field) {
+        return frequencies[index * FIELDS + field.ordinal()];
+    }
+
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    void add(int id, int[] fieldFrequencies) {
+        // Cas courant : les nouveaux identifiants arrivent en ordre croissant
+        int insertAt;
+        if (size == 0 || ids[size - 1] < id) {
+            insertAt = size;
+        } else {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(fieldFrequencies, 0, frequencies, position * FIELDS, FIELDS);
+                return;
+            }
+            insertAt = -position - 1;
+        }
+
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(frequencies, insertAt * FIELDS, frequencies, (insertAt + 1) * FIELDS,
+            (size - insertAt) * FIELDS);
+        ids[insertAt] = id;
+        System.arraycopy(fieldFrequencies, 0, frequencies, insertAt * FIELDS, FIELDS);
+        size++;
+    }
+
+    void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        System.arraycopy(frequencies, (position + 1) * FIELDS, frequencies, position * FIELDS,
+            (size - position - 1) * FIELDS);
+        size--;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            frequencies = Arrays.copyOf(frequencies, ids.length * FIELDS);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.cooking.search;
+
+/**
+ * Champs indexés d'une recette et leur poids dans le score de pertinence
+ */
+public enum RecipeField {
+
+    TITLE(3.0f, 0.75f),
+    KEYWORDS(2.0f, 0.75f),
+    INGREDIENTS(1.0f, 0.75f);
+
+    public static final int COUNT = values().length;
+
+    private final float weight;
+    private final float lengthNormalization;
+
+    RecipeField(float weight, float lengthNormalization) {
+        this.weight = weight;
+        this.lengthNormalization = lengthNormalization;
+    }
+
+    public float getWeight() {
+        return weight;
+    }
+
+    public float getLengthNormalization() {
+        return lengthNormalization;
+    }
+}
@@ -0,0 +1,409 @@
+package com.cooking.search;
+
+import com.cooking.entity.Ingredient;
+import com.cooking.event.RecipeChangedEvent;
+import com.cooking.repository.IngredientRepository;
+import org.roaringbitmap.BatchIterator;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Index bitmap ingrédient → recettes.
+ * Chaque ingrédient est représenté par un bitmap compressé (Roaring) : un ingrédient rare ne coûte
+ * que ses quelques recettes, un ingrédient courant reste un vrai bitmap.
+ * "toutes ces recettes contenant X et Y" devient un ET bit à bit, "X ou Y" un OU.
+ */
+@Component
+public class RecipeIngredientIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeIngredientIndex.class);
+
+    private static final int RECIPE_ID_RANGE = 5000;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int PANTRY_SEGMENT_SIZE = 1 << 16;
+    private static final int BATCH_SIZE = 256;
+    private static final int[] NO_INGREDIENTS = new int[0];
+
+    private final IngredientRepository ingredientRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, RoaringBitmap> recipesByIngredient = new HashMap<>();
+    // Ingrédients triés de chaque recette, indexés par identifiant (null si aucun)
+    private int[][] ingredientsByRecipe = new int[INITIAL_CAPACITY][];
+    private int indexedRecipes;
+    private final Map<Integer, String> ingredientNames = new HashMap<>();
+    private final Map<String, Set<Integer>> ingredientsByWord = new HashMap<>();
+
+    public RecipeIngredientIndex(IngredientRepository ingredientRepository) {
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    /**
+     * Construire l'index à partir de la table de jointure (après l'initialisation des données)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            recipesByIngredient.clear();
+            ingredientsByRecipe = new int[INITIAL_CAPACITY][];
+            indexedRecipes = 0;
+            ingredientNames.clear();
+            ingredientsByWord.clear();
+            for (Ingredient ingredient : ingredientRepository.findAll()) {
+                registerIngredient(Math.toIntExact(ingredient.getId()), ingredient.getName());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Tranches successives d'identifiants de recettes : chaque lot est un parcours borné de la clé primaire
+        long maxRecipeId = ingredientRepository.findMaxLinkedRecipeId();
+        List<Integer> currentIngredients = new ArrayList<>();
+        for (long after = 0L; after < maxRecipeId; after += RECIPE_ID_RANGE) {
+            int currentRecipe = -1;
+            for (Object[] link : ingredientRepository.findLinksBetween(after, after + RECIPE_ID_RANGE)) {
+                int recipeId = Math.toIntExact(((Number) link[0]).longValue());
+                if (recipeId != currentRecipe && currentRecipe != -1) {
+                    index(currentRecipe, toArray(currentIngredients));
+                    currentIngredients.clear();
+                }
+                currentRecipe = recipeId;
+                currentIngredients.add(Math.toIntExact(((Number) link[1]).longValue()));
+            }
+            if (currentRecipe != -1) {
+                index(currentRecipe, toArray(currentIngredients));
+                currentIngredients.clear();
+            }
+        }
+
+        logger.info("🥕 Index des ingrédients construit : {} ingrédients, {} recettes en {} ms",
+            ingredientCount(), recipeCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Mise à jour incrémentale après validation de la transaction
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        int recipeId = Math.toIntExact(event.getRecipeId());
+        if (event.isDeletion()) {
+            lock.writeLock().lock();
+            try {
+                removeRecipe(recipeId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        int[] ingredientIds = new int[event.getIngredientItems().size()];
+        int i = 0;
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, String> item : event.getIngredientItems().entrySet()) {
+                int ingredientId = Math.toIntExact(item.getKey());
+                registerIngredient(ingredientId, item.getValue());
+                ingredientIds[i++] = ingredientId;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        index(recipeId, ingredientIds);
+    }
+
+    /**
+     * Recettes contenant tous (ou au moins un) des ingrédients demandés.
+     * Un ingrédient demandé correspond à tout ingrédient canonique contenant ses mots
+     * ("chocolat" → "chocolat", "chocolat noir"...).
+     */
+    public RoaringBitmap match(Iterable<String> requestedIngredients, boolean matchAll) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            for (String requested : requestedIngredients) {
+                String name = IngredientParser.canonicalName(requested);
+                if (name.isEmpty()) {
+                    continue;
+                }
+                RoaringBitmap recipes = recipesMatching(name);
+                if (result == null) {
+                    result = recipes;
+                } else if (matchAll) {
+                    result.and(recipes);
+                } else {
+                    result.or(recipes);
+                }
+            }
+            return result != null ? result : new RoaringBitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Les {@code limit} recettes correspondantes les plus récentes (identifiants décroissants)
+     * et le nombre total de correspondances
+     */
+    public SearchResult search(Iterable<String> requestedIngredients, boolean matchAll, int limit) {
+        RoaringBitmap matches = match(requestedIngredients, matchAll);
+        int total = matches.getCardinality();
+        if (total == 0 || limit <= 0) {
+            return new SearchResult(new int[0], total);
+        }
+
+        int[] ids = new int[Math.min(limit, total)];
+        IntIterator descending = matches.getReverseIntIterator();
+        for (int count = 0; count < ids.length; count++) {
+            ids[count] = descending.next();
+        }
+        return new SearchResult(ids, total);
+    }
+
+    /**
+     * Les {@code limit} recettes les mieux couvertes par le garde-manger.
+     * Seules les recettes contenant au moins un ingrédient possédé sont évaluées : les bitmaps des
+     * ingrédients possédés sont comptés recette par recette, sans relire les ingrédients de chacune.
+     * L'évaluation est répartie par segments d'identifiants sur tous les cœurs, chaque segment gardant
+     * son propre top-k avant la fusion.
+     */
+    public List<PantryMatch> rankByPantry(Iterable<String> pantryIngredients, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet pantry = new BitSet();
+            for (String requested : pantryIngredients) {
+                String name = IngredientParser.canonicalName(requested);
+                if (!name.isEmpty()) {
+                    ingredientsMatching(name).forEach(pantry::set);
+                }
+            }
+            List<RoaringBitmap> withPantryIngredients = new ArrayList<>();
+            for (int ingredientId = pantry.nextSetBit(0); ingredientId >= 0; ingredientId = pantry.nextSetBit(ingredientId + 1)) {
+                RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+                if (recipes != null) {
+                    withPantryIngredients.add(recipes);
+                }
+            }
+            long postings = 0;
+            int lastRecipeId = 0;
+            for (RoaringBitmap recipes : withPantryIngredients) {
+                postings += recipes.getLongCardinality();
+                lastRecipeId = recipes.isEmpty() ? lastRecipeId : Math.max(lastRecipeId, recipes.last());
+            }
+            if (postings == 0 || limit <= 0) {
+                return new ArrayList<>();
+            }
+            int k = (int) Math.min(limit, postings);
+
+            // Le verrou en lecture du thread appelant bloque les écritures pendant le calcul parallèle
+            int[][] recipes = ingredientsByRecipe;
+            int segments = lastRecipeId / PANTRY_SEGMENT_SIZE + 1;
+            CoverageTopK top = IntStream.range(0, segments)
+                .parallel()
+                .mapToObj(segment -> scoreSegment(withPantryIngredients, recipes, segment, k))
+                .reduce(CoverageTopK::merge)
+                .orElseGet(() -> new CoverageTopK(0));
+
+            int[] ranked = top.drainDescending();
+            List<PantryMatch> matches = new ArrayList<>(ranked.length / 3);
+            for (int i = 0; i < ranked.length; i += 3) {
+                int recipeId = ranked[i];
+                matches.add(new PantryMatch(recipeId, ranked[i + 1], ranked[i + 2],
+                    missingIngredients(recipes[recipeId], pantry, ranked[i + 2] - ranked[i + 1])));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Identifiants d'ingrédients (triés) d'une recette
+     */
+    public int[] ingredientsOf(int recipeId) {
+        lock.readLock().lock();
+        try {
+            int[] ingredientIds = recipeId < ingredientsByRecipe.length ? ingredientsByRecipe[recipeId] : null;
+            return ingredientIds != null ? ingredientIds : NO_INGREDIENTS;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String ingredientName(int ingredientId) {
+        lock.readLock().lock();
+        try {
+            return ingredientNames.get(ingredientId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int ingredientCount() {
+        lock.readLock().lock();
+        try {
+            return ingredientNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int recipeCount() {
+        lock.readLock().lock();
+        try {
+            return indexedRecipes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(int recipeId, int[] ingredientIds) {
+        int[] sorted = ingredientIds.clone();
+        Arrays.sort(sorted);
+        lock.writeLock().lock();
+        try {
+            removeRecipe(recipeId);
+            if (sorted.length == 0) {
+                return;
+            }
+            for (int ingredientId : sorted) {
+                recipesByIngredient.computeIfAbsent(ingredientId, id -> new RoaringBitmap()).add(recipeId);
+            }
+            if (recipeId >= ingredientsByRecipe.length) {
+                ingredientsByRecipe = Arrays.copyOf(ingredientsByRecipe,
+                    Math.max(recipeId + 1, ingredientsByRecipe.length * 2));
+            }
+            ingredientsByRecipe[recipeId] = sorted;
+            indexedRecipes++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeRecipe(int recipeId) {
+        if (recipeId >= ingredientsByRecipe.length || ingredientsByRecipe[recipeId] == null) {
+            return;
+        }
+        int[] previous = ingredientsByRecipe[recipeId];
+        ingredientsByRecipe[recipeId] = null;
+        indexedRecipes--;
+        for (int ingredientId : previous) {
+            RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+            if (recipes != null) {
+                recipes.remove(recipeId);
+            }
+        }
+    }
+
+    // Un segment de 2^16 identifiants correspond à un conteneur du bitmap Roaring ; ses compteurs tiennent en cache
+    private static CoverageTopK scoreSegment(List<RoaringBitmap> withPantryIngredients, int[][] recipes,
+                                             int segment, int limit) {
+        int from = segment * PANTRY_SEGMENT_SIZE;
+        int to = from + PANTRY_SEGMENT_SIZE;
+        // Ingrédients possédés par recette (jamais plus que les ingrédients de la recette)
+        short[] matched = new short[PANTRY_SEGMENT_SIZE];
+        int[] batch = new int[BATCH_SIZE];
+        for (RoaringBitmap withIngredient : withPantryIngredients) {
+            BatchIterator iterator = withIngredient.getBatchIterator();
+            iterator.advanceIfNeeded(from);
+            boolean inSegment = true;
+            while (inSegment && iterator.hasNext()) {
+                int count = iterator.nextBatch(batch);
+                for (int i = 0; i < count; i++) {
+                    if (batch[i] >= to) {
+                        inSegment = false;
+                        break;
+                    }
+                    matched[batch[i] - from]++;
+                }
+            }
+        }
+
+        // Du plus récent au plus ancien : à couverture égale, une recette plus ancienne ne remplace jamais
+        // le minimum du tas (en ordre croissant, chaque ex æquo le remplaçait)
+        CoverageTopK top = new CoverageTopK(limit);
+        for (int offset = PANTRY_SEGMENT_SIZE - 1; offset >= 0; offset--) {
+            if (matched[offset] != 0) {
+                int recipeId = from + offset;
+                top.offer(recipeId, matched[offset], recipes[recipeId].length);
+            }
+        }
+        return top;
+    }
+
+    private static int[] missingIngredients(int[] ingredientIds, BitSet pantry, int missingCount) {
+        int[] missing = new int[missingCount];
+        int count = 0;
+        for (int ingredientId : ingredientIds) {
+            if (!pantry.get(ingredientId)) {
+                missing[count++] = ingredientId;
+            }
+        }
+        return missing;
+    }
+
+    private void registerIngredient(int ingredientId, String name) {
+        if (ingredientNames.putIfAbsent(ingredientId, name) == null) {
+            for (String word : name.split(" ")) {
+                ingredientsByWord.computeIfAbsent(word, w -> new HashSet<>()).add(ingredientId);
+            }
+        }
+    }
+
+    // Ingrédients canoniques contenant tous les mots du nom demandé
+    private Set<Integer> ingredientsMatching(String name) {
+        Set<Integer> ingredientIds = null;
+        for (String word : name.split(" ")) {
+            Set<Integer> withWord = ingredientsByWord.getOrDefault(word, Set.of());
+            if (ingredientIds == null) {
+                ingredientIds = new HashSet<>(withWord);
+            } else {
+                ingredientIds.retainAll(withWord);
+            }
+        }
+        return ingredientIds != null ? ingredientIds : Set.of();
+    }
+
+    // Union des recettes de tous les ingrédients correspondant au nom demandé
+    private RoaringBitmap recipesMatching(String name) {
+        List<RoaringBitmap> withIngredients = new ArrayList<>();
+        for (Integer ingredientId : ingredientsMatching(name)) {
+            RoaringBitmap withIngredient = recipesByIngredient.get(ingredientId);
+            if (withIngredient != null) {
+                withIngredients.add(withIngredient);
+            }
+        }
+        // Toujours une copie : le résultat est modifié par match()
+        return FastAggregation.or(withIngredients.iterator());
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,439 @@
+package com.cooking.search;
+
+import com.cooking.dto.RecipeTextView;
+import com.cooking.event.RecipeChangedEvent;
+import com.cooking.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire (terme → identifiants de recettes) pour la recherche plein texte.
+ * Construit au démarrage puis tenu à jour à chaque écriture de recette validée.
+ *
+ * Les résultats sont classés par BM25F : fréquence du terme pondérée par champ
+ * (titre > mots-clés > ingrédients) et normalisée par la longueur de chaque champ.
+ * Les statistiques (longueurs totales, nombre de documents) sont maintenues à chaque écriture.
+ * Le mode approché élargit chaque mot de la requête aux termes voisins de l'index de trigrammes.
+ */
+@Component
+public class RecipeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeSearchIndex.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final float PREFIX_BOOST = 0.8f;
+    private static final float K1 = 1.2f;
+    private static final int[] NO_MATCH = new int[0];
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final RecipeField[] FIELDS = RecipeField.values();
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeTrigramIndex trigramIndex;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    // Termes de chaque recette (pour la retirer de l'index)
+    private final Map<Integer, String[]> documentTerms = new HashMap<>();
+    // Longueurs des champs de chaque recette, indexées par identifiant : lues pour chaque candidat au classement
+    private int[] fieldLengthsByDoc = new int[INITIAL_CAPACITY * RecipeField.COUNT];
+    private final long[] totalFieldLengths = new long[RecipeField.COUNT];
+
+    public RecipeSearchIndex(RecipeRepository recipeRepository, RecipeTrigramIndex trigramIndex) {
+        this.recipeRepository = recipeRepository;
+        this.trigramIndex = trigramIndex;
+    }
+
+    /**
+     * Construire l'index à partir de la base (après l'initialisation des données)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        clear();
+
+        long lastId = 0L;
+        List<RecipeTextView> batch;
+        do {
+            batch = recipeRepository.findTextViewsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+            for (RecipeTextView recipe : batch) {
+                index(recipe.getId(), recipe.getTitle(), recipe.getIngredients(), recipe.getKeywords());
+                lastId = recipe.getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        logger.info("🔎 Index de recherche construit : {} recettes, {} termes ({} dans l'index de trigrammes) en {} ms",
+            documentCount(), termCount(), trigramIndex.termCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Mise à jour incrémentale après validation de la transaction
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.isDeletion()) {
+            remove(event.getRecipeId());
+        } else {
+            index(event.getRecipeId(), event.getTitle(), event.getIngredients(), event.getKeywords());
+        }
+    }
+
+    public void index(Long recipeId, String title, String ingredients, String keywords) {
+        int docId = Math.toIntExact(recipeId);
+
+        // Fréquences par terme et par champ, calculées hors verrou
+        Map<String, int[]> termFrequencies = new LinkedHashMap<>();
+        int[] fieldLengths = new int[RecipeField.COUNT];
+        countTerms(termFrequencies, fieldLengths, RecipeField.TITLE, title);
+        countTerms(termFrequencies, fieldLengths, RecipeField.KEYWORDS, keywords);
+        countTerms(termFrequencies, fieldLengths, RecipeField.INGREDIENTS, ingredients);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(docId);
+            for (Map.Entry<String, int[]> entry : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new PostingList()).add(docId, entry.getValue());
+            }
+            documentTerms.put(docId, termFrequencies.keySet().toArray(new String[0]));
+            if ((long) (docId + 1) * RecipeField.COUNT > fieldLengthsByDoc.length) {
+                fieldLengthsByDoc = Arrays.copyOf(fieldLengthsByDoc,
+                    Math.max(docId + 1, fieldLengthsByDoc.length / RecipeField.COUNT * 2) * RecipeField.COUNT);
+            }
+            System.arraycopy(fieldLengths, 0, fieldLengthsByDoc, docId * RecipeField.COUNT, RecipeField.COUNT);
+            for (int f = 0; f < RecipeField.COUNT; f++) {
+                totalFieldLengths[f] += fieldLengths[f];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Vocabulaire du titre et des mots-clés pour la recherche approchée
+        Set<String> fuzzyVocabulary = new LinkedHashSet<>();
+        for (Map.Entry<String, int[]> entry : termFrequencies.entrySet()) {
+            int[] frequencies = entry.getValue();
+            if (frequencies[RecipeField.TITLE.ordinal()] > 0 || frequencies[RecipeField.KEYWORDS.ordinal()] > 0) {
+                fuzzyVocabulary.add(entry.getKey());
+            }
+        }
+        trigramIndex.index(docId, fuzzyVocabulary);
+    }
+
+    public void remove(Long recipeId) {
+        int docId = Math.toIntExact(recipeId);
+        lock.writeLock().lock();
+        try {
+            removeDocument(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        trigramIndex.remove(docId);
+    }
+
+    /**
+     * Rechercher les recettes contenant tous les termes de la requête, classées par pertinence.
+     * Le dernier terme est traité comme un préfixe (saisie en cours).
+     *
+     * @param limit nombre maximum d'identifiants à renvoyer (taille du tas top-k)
+     */
+    public SearchResult search(String query, int limit) {
+        List<String> tokens = RecipeTextAnalyzer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return SearchResult.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<String, Float>> groups = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1 && tokens.get(i).length() >= MIN_PREFIX_LENGTH;
+                Map<String, Float> group = prefix ? prefixTerms(tokens.get(i)) : exactTerm(tokens.get(i));
+                if (group.isEmpty()) {
+                    return SearchResult.EMPTY;
+                }
+                groups.add(group);
+            }
+            return execute(groups, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche tolérante aux fautes : chaque mot est remplacé par les termes
+     * du titre et des mots-clés dont la similarité de trigrammes dépasse le seuil
+     */
+    public SearchResult searchFuzzy(String query, int limit) {
+        List<String> tokens = RecipeTextAnalyzer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return SearchResult.EMPTY;
+        }
+
+        List<Map<String, Float>> groups = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Map<String, Float> group = new LinkedHashMap<>();
+            for (Map.Entry<String, Float> similar : trigramIndex.similarTerms(token).entrySet()) {
+                group.put(similar.getKey(), similar.getValue());
+            }
+            groups.add(group);
+        }
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < tokens.size(); i++) {
+                // Le terme exact reste prioritaire, même s'il n'apparaît que dans les ingrédients
+                if (postings.containsKey(tokens.get(i))) {
+                    groups.get(i).put(tokens.get(i), 1f);
+                }
+                if (groups.get(i).isEmpty()) {
+                    return SearchResult.EMPTY;
+                }
+            }
+            return execute(groups, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Chaque groupe regroupe des termes alternatifs (avec leur coefficient) pour un mot de la requête.
+    // Une recette correspond si elle contient au moins un terme de chaque groupe.
+    private SearchResult execute(List<Map<String, Float>> groups, int limit) {
+        List<int[]> unions = new ArrayList<>(groups.size());
+        for (Map<String, Float> group : groups) {
+            unions.add(union(group.keySet()));
+        }
+
+        // Intersection en partant de la liste la plus courte
+        unions.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] candidates = unions.get(0);
+        for (int i = 1; i < unions.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, unions.get(i));
+        }
+        if (candidates.length == 0) {
+            return SearchResult.EMPTY;
+        }
+
+        // Accumulation des scores terme par terme, alignée sur la liste triée des candidats
+        float[] scores = new float[candidates.length];
+        float[] averageLengths = averageFieldLengths();
+        for (Map<String, Float> group : groups) {
+            for (Map.Entry<String, Float> term : group.entrySet()) {
+                accumulate(postings.get(term.getKey()), term.getValue(), candidates, scores, averageLengths);
+            }
+        }
+
+        TopHits top = new TopHits(Math.min(limit, candidates.length));
+        for (int i = 0; i < candidates.length; i++) {
+            top.offer(candidates[i], scores[i]);
+        }
+        return new SearchResult(top.drainDescending(), candidates.length);
+    }
+
+    private void accumulate(PostingList list, float boost, int[] candidates, float[] scores,
+                            float[] averageLengths) {
+        if (list == null) {
+            return;
+        }
+        int documentCount = documentTerms.size();
+        float idf = (float) Math.log(1 + (documentCount - list.size() + 0.5) / (list.size() + 0.5));
+
+        int i = 0;
+        int j = 0;
+        while (i < list.size() && j < candidates.length) {
+            int id = list.get(i);
+            if (id == candidates[j]) {
+                float tf = weightedFrequency(list, i, fieldLengthsByDoc, id * RecipeField.COUNT, averageLengths);
+                scores[j] += boost * idf * tf * (K1 + 1) / (K1 + tf);
+                i++;
+                j++;
+            } else if (id < candidates[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+    }
+
+    private static float weightedFrequency(PostingList list, int index, int[] fieldLengths, int offset,
+                                           float[] averageLengths) {
+        float tf = 0f;
+        for (RecipeField field : FIELDS) {
+            int frequency = list.frequency(index, field);
+            if (frequency > 0) {
+                float b = field.getLengthNormalization();
+                float norm = 1 - b + b * fieldLengths[offset + field.ordinal()] / averageLengths[field.ordinal()];
+                tf += field.getWeight() * frequency / norm;
+            }
+        }
+        return tf;
+    }
+
+    private float[] averageFieldLengths() {
+        float[] averages = new float[RecipeField.COUNT];
+        int documentCount = Math.max(1, documentTerms.size());
+        for (int f = 0; f < RecipeField.COUNT; f++) {
+            averages[f] = Math.max(1f, (float) totalFieldLengths[f] / documentCount);
+        }
+        return averages;
+    }
+
+    private static void countTerms(Map<String, int[]> termFrequencies, int[] fieldLengths,
+                                   RecipeField field, String text) {
+        List<String> tokens = RecipeTextAnalyzer.tokenize(text);
+        fieldLengths[field.ordinal()] = tokens.size();
+        for (String token : tokens) {
+            termFrequencies.computeIfAbsent(token, t -> new int[RecipeField.COUNT])[field.ordinal()]++;
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            fieldLengthsByDoc = new int[INITIAL_CAPACITY * RecipeField.COUNT];
+            Arrays.fill(totalFieldLengths, 0L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        trigramIndex.clear();
+    }
+
+    private void removeDocument(int docId) {
+        String[] previous = documentTerms.remove(docId);
+        if (previous == null) {
+            return;
+        }
+        for (int f = 0; f < RecipeField.COUNT; f++) {
+            totalFieldLengths[f] -= fieldLengthsByDoc[docId * RecipeField.COUNT + f];
+            fieldLengthsByDoc[docId * RecipeField.COUNT + f] = 0;
+        }
+        for (String term : previous) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                list.remove(docId);
+                if (list.size() == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private Map<String, Float> exactTerm(String term) {
+        return postings.containsKey(term) ? Map.of(term, 1f) : Map.of();
+    }
+
+    private Map<String, Float> prefixTerms(String prefix) {
+        Map<String, Float> terms = new LinkedHashMap<>();
+        for (String term : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).keySet()) {
+            if (terms.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            terms.put(term, term.equals(prefix) ? 1f : PREFIX_BOOST);
+        }
+        return terms;
+    }
+
+    // Listes déjà triées : fusions successives en partant des plus courtes, sans tri global
+    private int[] union(Iterable<String> terms) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return NO_MATCH;
+        }
+        lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        int[] merged = lists.get(0).toArray();
+        for (int i = 1; i < lists.size(); i++) {
+            merged = merge(merged, lists.get(i));
+        }
+        return merged;
+    }
+
+    private static int[] merge(int[] a, PostingList b) {
+        int[] result = new int[a.length + b.size()];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.size()) {
+            int id = b.get(j);
+            if (a[i] == id) {
+                result[count++] = id;
+                i++;
+                j++;
+            } else if (a[i] < id) {
+                result[count++] = a[i++];
+            } else {
+                result[count++] = id;
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[count++] = a[i++];
+        }
+        while (j < b.size()) {
+            result[count++] = b.get(j++);
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                result[count++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,510 @@
+package com.cooking.search;
+
+import com.cooking.dto.RecipeTextView;
+import com.cooking.event.RecipeChangedEvent;
+import com.cooking.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Arbre ternaire de recherche compact (tableaux parallèles de primitives) pour l'autocomplétion
+ * sur les titres et mots-clés des recettes.
+ *
+ * Chaque nœud terminal porte une popularité (nombre de recettes qui l'utilisent) ; chaque nœud
+ * conserve un majorant de la popularité de son sous-arbre, ce qui permet d'élaguer la recherche
+ * des N meilleures complétions. Le nombre de nœuds est borné : l'arbre est compacté (nœuds morts
+ * retirés) quand la capacité est atteinte, et les entrées qui ne tiennent toujours pas sont ignorées.
+ */
+@Component
+public class RecipeSuggestionTrie {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeSuggestionTrie.class);
+
+    private static final int NIL = -1;
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final RecipeRepository recipeRepository;
+    private final int maxNodes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, String[]> recipeEntries = new HashMap<>();
+
+    private char[] labels;
+    private int[] low;
+    private int[] equal;
+    private int[] high;
+    private int[] counts;
+    private int[] subtreeMax;
+    private String[] displays;
+    private int nodeCount;
+    private int root;
+    private int entryCount;
+    private long droppedEntries;
+
+    public RecipeSuggestionTrie(RecipeRepository recipeRepository,
+                                @Value("${app.search.suggest.max-nodes:2000000}") int maxNodes) {
+        this.recipeRepository = recipeRepository;
+        this.maxNodes = maxNodes;
+        reset(Math.min(INITIAL_CAPACITY, maxNodes));
+    }
+
+    /**
+     * Construire l'arbre à partir de la base (après l'initialisation des données)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            recipeEntries.clear();
+            reset(Math.min(INITIAL_CAPACITY, maxNodes));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long lastId = 0L;
+        List<RecipeTextView> batch;
+        do {
+            batch = recipeRepository.findTextViewsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+            for (RecipeTextView recipe : batch) {
+                index(recipe.getId(), recipe.getTitle(), recipe.getKeywords());
+                lastId = recipe.getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        Map<String, Object> stats = getStats();
+        logger.info("💡 Autocomplétion construite : {} entrées, {} nœuds (~{} octets) en {} ms",
+            stats.get("entries"), stats.get("nodes"), stats.get("estimatedBytes"), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Mise à jour incrémentale après validation de la transaction
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.isDeletion()) {
+            remove(event.getRecipeId());
+        } else {
+            index(event.getRecipeId(), event.getTitle(), event.getKeywords());
+        }
+    }
+
+    public void index(Long recipeId, String title, String keywords) {
+        // Le titre complet et chaque mot-clé (séparés par des virgules) sont des complétions
+        Map<String, String> entries = new LinkedHashMap<>();
+        addEntry(entries, title);
+        if (keywords != null) {
+            for (String keyword : keywords.split("[,;]")) {
+                addEntry(entries, keyword);
+            }
+        }
+
+        int docId = Math.toIntExact(recipeId);
+        lock.writeLock().lock();
+        try {
+            removeRecipe(docId);
+            List<String> stored = new ArrayList<>(entries.size());
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                if (adjust(entry.getKey(), entry.getValue(), 1)) {
+                    stored.add(entry.getKey());
+                }
+            }
+            recipeEntries.put(docId, stored.toArray(new String[0]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeRecipe(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Les N complétions les plus populaires pour un préfixe
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = RecipeTextAnalyzer.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        limit = Math.min(limit, MAX_SUGGESTIONS);
+        if (key.length() > MAX_KEY_LENGTH) {
+            key = key.substring(0, MAX_KEY_LENGTH);
+        }
+
+        lock.readLock().lock();
+        try {
+            int node = findNode(key);
+            if (node == NIL) {
+                return List.of();
+            }
+
+            // Tas minimal des meilleurs nœuds terminaux, parcours en profondeur avec pile d'entiers
+            int[] heapNodes = new int[limit];
+            int heapSize = 0;
+            if (counts[node] > 0) {
+                heapNodes[heapSize++] = node;
+            }
+
+            int[] stack = new int[64];
+            int top = 0;
+            if (equal[node] != NIL) {
+                stack[top++] = equal[node];
+            }
+            while (top > 0) {
+                int current = stack[--top];
+                // Élagage : le sous-arbre ne peut pas battre la pire complétion retenue
+                if (heapSize == limit && subtreeMax[current] <= counts[heapNodes[0]]) {
+                    continue;
+                }
+                if (counts[current] > 0) {
+                    if (heapSize < limit) {
+                        heapNodes[heapSize] = current;
+                        siftUp(heapNodes, heapSize++);
+                    } else if (counts[current] > counts[heapNodes[0]]) {
+                        heapNodes[0] = current;
+                        siftDown(heapNodes, heapSize);
+                    }
+                }
+                if (top + 3 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                if (low[current] != NIL) {
+                    stack[top++] = low[current];
+                }
+                if (high[current] != NIL) {
+                    stack[top++] = high[current];
+                }
+                if (equal[current] != NIL) {
+                    stack[top++] = equal[current];
+                }
+            }
+
+            Suggestion[] ranked = new Suggestion[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                int best = heapNodes[0];
+                ranked[i] = new Suggestion(displays[best], counts[best]);
+                heapNodes[0] = heapNodes[i];
+                siftDown(heapNodes, i);
+            }
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Occupation mémoire de l'arbre
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("entries", entryCount);
+            stats.put("nodes", nodeCount);
+            stats.put("capacity", labels.length);
+            stats.put("maxNodes", maxNodes);
+            stats.put("droppedEntries", droppedEntries);
+            // char + 5 int + 1 référence par nœud alloué
+            stats.put("estimatedBytes", (long) labels.length * (2 + 5 * 4 + 8));
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void addEntry(Map<String, String> entries, String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String display = text.trim();
+        String key = RecipeTextAnalyzer.normalize(display);
+        if (key.length() > MAX_KEY_LENGTH) {
+            key = key.substring(0, MAX_KEY_LENGTH);
+        }
+        if (!key.isEmpty()) {
+            entries.putIfAbsent(key, display);
+        }
+    }
+
+    private void removeRecipe(int docId) {
+        String[] previous = recipeEntries.remove(docId);
+        if (previous != null) {
+            for (String key : previous) {
+                adjust(key, null, -1);
+            }
+        }
+    }
+
+    // Ajoute delta à la popularité d'une clé ; renvoie false si la clé n'a pas pu être insérée
+    private boolean adjust(String key, String display, int delta) {
+        if (delta > 0 && nodeCount + key.length() > maxNodes) {
+            compact();
+            if (nodeCount + key.length() > maxNodes) {
+                droppedEntries++;
+                return false;
+            }
+        }
+
+        if (root == NIL) {
+            if (delta < 0) {
+                return false;
+            }
+            root = newNode(key.charAt(0));
+        }
+
+        int node = root;
+        int i = 0;
+        while (true) {
+            char c = key.charAt(i);
+            if (c < labels[node]) {
+                if (low[node] == NIL) {
+                    if (delta < 0) {
+                        return false;
+                    }
+                    int child = newNode(c);
+                    low[node] = child;
+                }
+                node = low[node];
+            } else if (c > labels[node]) {
+                if (high[node] == NIL) {
+                    if (delta < 0) {
+                        return false;
+                    }
+                    int child = newNode(c);
+                    high[node] = child;
+                }
+                node = high[node];
+            } else if (i + 1 < key.length()) {
+                if (equal[node] == NIL) {
+                    if (delta < 0) {
+                        return false;
+                    }
+                    int child = newNode(key.charAt(i + 1));
+                    equal[node] = child;
+                }
+                node = equal[node];
+                i++;
+                continue;
+            } else {
+                break;
+            }
+        }
+
+        int previous = counts[node];
+        counts[node] = Math.max(0, previous + delta);
+        if (previous == 0 && counts[node] > 0) {
+            entryCount++;
+            displays[node] = display;
+        } else if (previous > 0 && counts[node] == 0) {
+            entryCount--;
+            displays[node] = null;
+        }
+        if (delta > 0) {
+            raiseSubtreeMax(key, counts[node]);
+        }
+        return true;
+    }
+
+    // Les majorants ne sont jamais abaissés : ils restent valides après une suppression
+    private void raiseSubtreeMax(String key, int count) {
+        int node = root;
+        int i = 0;
+        while (node != NIL) {
+            subtreeMax[node] = Math.max(subtreeMax[node], count);
+            char c = key.charAt(i);
+            if (c < labels[node]) {
+                node = low[node];
+            } else if (c > labels[node]) {
+                node = high[node];
+            } else if (++i < key.length()) {
+                node = equal[node];
+            } else {
+                return;
+            }
+        }
+    }
+
+    private int findNode(String key) {
+        int node = root;
+        int i = 0;
+        while (node != NIL) {
+            char c = key.charAt(i);
+            if (c < labels[node]) {
+                node = low[node];
+            } else if (c > labels[node]) {
+                node = high[node];
+            } else if (++i < key.length()) {
+                node = equal[node];
+            } else {
+                return node;
+            }
+        }
+        return NIL;
+    }
+
+    // Reconstruit l'arbre avec les seules entrées vivantes
+    private void compact() {
+        List<String> keys = new ArrayList<>(entryCount);
+        List<String> liveDisplays = new ArrayList<>(entryCount);
+        List<Integer> liveCounts = new ArrayList<>(entryCount);
+
+        // Parcours itératif : les chaînes low/high peuvent être longues
+        if (root != NIL) {
+            char[] path = new char[MAX_KEY_LENGTH];
+            int[] stackNodes = new int[64];
+            int[] stackDepths = new int[64];
+            int top = 0;
+            stackNodes[top] = root;
+            stackDepths[top++] = 0;
+            while (top > 0) {
+                int node = stackNodes[--top];
+                int depth = stackDepths[top];
+                path[depth] = labels[node];
+                if (counts[node] > 0) {
+                    keys.add(new String(path, 0, depth + 1));
+                    liveDisplays.add(displays[node]);
+                    liveCounts.add(counts[node]);
+                }
+                if (top + 3 > stackNodes.length) {
+                    stackNodes = Arrays.copyOf(stackNodes, stackNodes.length * 2);
+                    stackDepths = Arrays.copyOf(stackDepths, stackDepths.length * 2);
+                }
+                if (low[node] != NIL) {
+                    stackNodes[top] = low[node];
+                    stackDepths[top++] = depth;
+                }
+                if (high[node] != NIL) {
+                    stackNodes[top] = high[node];
+                    stackDepths[top++] = depth;
+                }
+                if (equal[node] != NIL) {
+                    stackNodes[top] = equal[node];
+                    stackDepths[top++] = depth + 1;
+                }
+            }
+        }
+
+        reset(labels.length);
+        for (int i = 0; i < keys.size(); i++) {
+            adjust(keys.get(i), liveDisplays.get(i), liveCounts.get(i));
+        }
+        logger.info("💡 Autocomplétion compactée : {} entrées, {} nœuds", entryCount, nodeCount);
+    }
+
+    // Peut réallouer les tableaux : ne jamais écrire low[n] = newNode(...) (l'ancien tableau serait modifié)
+    private int newNode(char label) {
+        if (nodeCount == labels.length) {
+            int capacity = Math.max(nodeCount + 1, Math.min(maxNodes, labels.length * 2));
+            labels = Arrays.copyOf(labels, capacity);
+            low = Arrays.copyOf(low, capacity);
+            equal = Arrays.copyOf(equal, capacity);
+            high = Arrays.copyOf(high, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            subtreeMax = Arrays.copyOf(subtreeMax, capacity);
+            displays = Arrays.copyOf(displays, capacity);
+        }
+        int node = nodeCount++;
+        labels[node] = label;
+        low[node] = NIL;
+        equal[node] = NIL;
+        high[node] = NIL;
+        counts[node] = 0;
+        subtreeMax[node] = 0;
+        displays[node] = null;
+        return node;
+    }
+
+    private void reset(int capacity) {
+        labels = new char[capacity];
+        low = new int[capacity];
+        equal = new int[capacity];
+        high = new int[capacity];
+        counts = new int[capacity];
+        subtreeMax = new int[capacity];
+        displays = new String[capacity];
+        nodeCount = 0;
+        entryCount = 0;
+        root = NIL;
+    }
+
+    private void siftUp(int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[heap[index]]) {
+                return;
+            }
+            int tmp = heap[parent];
+            heap[parent] = heap[index];
+            heap[index] = tmp;
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            if (left + 1 < size && counts[heap[left + 1]] < counts[heap[left]]) {
+                smallest = left + 1;
+            }
+            if (counts[heap[index]] <= counts[heap[smallest]]) {
+                return;
+            }
+            int tmp = heap[index];
+            heap[index] = heap[smallest];
+            heap[smallest] = tmp;
+            index = smallest;
+        }
+    }
+
+    /**
+     * Complétion proposée et sa popularité
+     */
+    public static class Suggestion {
+        private final String text;
+        private final int popularity;
+
+        public Suggestion(String text, int popularity) {
+            this.text = text;
+            this.popularity = popularity;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public int getPopularity() {
+            return popularity;
+        }
+    }
+}
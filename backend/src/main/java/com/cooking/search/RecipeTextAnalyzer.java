@@ -0,0 +1,101 @@
+package com.cooking.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Découpage et normalisation du texte des recettes (minuscules, sans accents)
+ */
+public final class RecipeTextAnalyzer {
+
+    // Mots trop fréquents pour être utiles dans l'index
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "au", "aux", "avec", "d", "de", "des", "du", "en", "et", "l", "la", "le", "les",
+        "ou", "pour", "sur", "un", "une", "and", "of", "or", "the", "with"
+    );
+
+    private RecipeTextAnalyzer() {
+    }
+
+    /**
+     * Découper un texte en termes normalisés, mots vides exclus
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                appendFolded(current, c);
+            } else if (current.length() > 0) {
+                addToken(tokens, current);
+            }
+        }
+        if (current.length() > 0) {
+            addToken(tokens, current);
+        }
+        return tokens;
+    }
+
+    /**
+     * Normaliser un texte complet sans le découper
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            appendFolded(normalized, text.charAt(i));
+        }
+        return normalized.toString().trim();
+    }
+
+    private static void addToken(List<String> tokens, StringBuilder current) {
+        String token = current.toString();
+        current.setLength(0);
+        if (!STOP_WORDS.contains(token)) {
+            tokens.add(token);
+        }
+    }
+
+    // Minuscule et suppression des accents courants (latin-1)
+    private static void appendFolded(StringBuilder target, char c) {
+        char lower = Character.toLowerCase(c);
+        if (lower == 'œ') {
+            target.append("oe");
+        } else if (lower == 'æ') {
+            target.append("ae");
+        } else {
+            target.append(foldChar(lower));
+        }
+    }
+
+    private static char foldChar(char lower) {
+        switch (lower) {
+            case 'à': case 'á': case 'â': case 'ã': case 'ä': case 'å':
+                return 'a';
+            case 'ç':
+                return 'c';
+            case 'è': case 'é': case 'ê': case 'ë':
+                return 'e';
+            case 'ì': case 'í': case 'î': case 'ï':
+                return 'i';
+            case 'ñ':
+                return 'n';
+            case 'ò': case 'ó': case 'ô': case 'õ': case 'ö':
+                return 'o';
+            case 'ù': case 'ú': case 'û': case 'ü':
+                return 'u';
+            case 'ý': case 'ÿ':
+                return 'y';
+            default:
+                return lower;
+        }
+    }
+}
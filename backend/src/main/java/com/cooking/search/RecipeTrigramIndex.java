@@ -0,0 +1,233 @@
+package com.cooking.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index de trigrammes sur le vocabulaire des titres et mots-clés, pour la recherche tolérante aux fautes.
+ * Chaque trigramme pointe vers la liste triée des identifiants de termes qui le contiennent ;
+ * la similarité retenue est celle de Jaccard sur les ensembles de trigrammes (comme pg_trgm).
+ */
+@Component
+public class RecipeTrigramIndex {
+
+    private static final int MAX_EXPANSIONS = 16;
+
+    private final float similarityThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, SortedIntList> trigramPostings = new HashMap<>();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final Map<Integer, String[]> recipeTerms = new HashMap<>();
+    private String[] terms = new String[1024];
+    private int[] termTrigramCounts = new int[1024];
+    private int[] termReferences = new int[1024];
+    private int nextTermId;
+    // Identifiants libérés par les termes disparus, réattribués en priorité
+    private int[] freeTermIds = new int[64];
+    private int freeTermCount;
+
+    public RecipeTrigramIndex(@Value("${app.search.fuzzy.threshold:0.4}") float similarityThreshold) {
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    /**
+     * Enregistrer les termes (titre et mots-clés) d'une recette
+     */
+    void index(int recipeId, Set<String> recipeVocabulary) {
+        lock.writeLock().lock();
+        try {
+            // Références du nouveau vocabulaire prises avant de relâcher l'ancien :
+            // un terme conservé par la mise à jour n'est ni supprimé ni renuméroté
+            for (String term : recipeVocabulary) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    termId = addTerm(term);
+                }
+                termReferences[termId]++;
+            }
+            release(recipeTerms.put(recipeId, recipeVocabulary.toArray(new String[0])));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int recipeId) {
+        lock.writeLock().lock();
+        try {
+            release(recipeTerms.remove(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            trigramPostings.clear();
+            termIds.clear();
+            recipeTerms.clear();
+            Arrays.fill(terms, null);
+            Arrays.fill(termTrigramCounts, 0);
+            Arrays.fill(termReferences, 0);
+            nextTermId = 0;
+            freeTermCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Trouver les termes du vocabulaire proches d'un mot, avec leur similarité
+     */
+    public Map<String, Float> similarTerms(String word) {
+        Set<String> queryTrigrams = trigrams(word);
+
+        lock.readLock().lock();
+        try {
+            // Comptage des trigrammes communs par terme : fusion des listes d'entiers.
+            // Les identifiants étant recyclés, nextTermId reste borné par le plus grand vocabulaire atteint.
+            int[] shared = new int[nextTermId];
+            int[] touched = new int[termIds.size()];
+            int touchedCount = 0;
+            for (String trigram : queryTrigrams) {
+                SortedIntList list = trigramPostings.get(trigram);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size(); i++) {
+                    int termId = list.get(i);
+                    if (shared[termId]++ == 0) {
+                        touched[touchedCount++] = termId;
+                    }
+                }
+            }
+
+            // Jaccard >= seuil implique au moins seuil * |requête| trigrammes communs
+            int minShared = Math.max(1, (int) Math.ceil(similarityThreshold * queryTrigrams.size()));
+            List<Candidate> candidates = new ArrayList<>();
+            for (int i = 0; i < touchedCount; i++) {
+                int termId = touched[i];
+                int common = shared[termId];
+                if (common < minShared) {
+                    continue;
+                }
+                float similarity = (float) common / (queryTrigrams.size() + termTrigramCounts[termId] - common);
+                if (similarity >= similarityThreshold) {
+                    candidates.add(new Candidate(terms[termId], similarity));
+                }
+            }
+
+            candidates.sort((a, b) -> Float.compare(b.similarity, a.similarity));
+            Map<String, Float> similar = new LinkedHashMap<>();
+            for (Candidate candidate : candidates) {
+                if (similar.size() == MAX_EXPANSIONS) {
+                    break;
+                }
+                similar.put(candidate.term, candidate.similarity);
+            }
+            return similar;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Identifiants de termes déjà attribués (vivants ou libres), borne des tableaux par terme
+    int allocatedTermIds() {
+        lock.readLock().lock();
+        try {
+            return nextTermId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int addTerm(String term) {
+        int termId = freeTermCount > 0 ? freeTermIds[--freeTermCount] : nextTermId++;
+        if (termId == terms.length) {
+            int capacity = terms.length * 2;
+            terms = Arrays.copyOf(terms, capacity);
+            termTrigramCounts = Arrays.copyOf(termTrigramCounts, capacity);
+            termReferences = Arrays.copyOf(termReferences, capacity);
+        }
+        Set<String> termTrigrams = trigrams(term);
+        terms[termId] = term;
+        termTrigramCounts[termId] = termTrigrams.size();
+        termIds.put(term, termId);
+        for (String trigram : termTrigrams) {
+            trigramPostings.computeIfAbsent(trigram, t -> new SortedIntList()).add(termId);
+        }
+        return termId;
+    }
+
+    // Relâcher les références d'un ancien vocabulaire de recette
+    private void release(String[] previous) {
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            Integer termId = termIds.get(term);
+            if (termId != null && --termReferences[termId] == 0) {
+                removeTerm(term, termId);
+            }
+        }
+    }
+
+    private void removeTerm(String term, int termId) {
+        termIds.remove(term);
+        terms[termId] = null;
+        termTrigramCounts[termId] = 0;
+        if (freeTermCount == freeTermIds.length) {
+            freeTermIds = Arrays.copyOf(freeTermIds, freeTermIds.length * 2);
+        }
+        freeTermIds[freeTermCount++] = termId;
+        for (String trigram : trigrams(term)) {
+            SortedIntList list = trigramPostings.get(trigram);
+            if (list != null) {
+                list.remove(termId);
+                if (list.size() == 0) {
+                    trigramPostings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    // Trigrammes d'un mot complété par deux espaces en tête et un en fin
+    static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static final class Candidate {
+        private final String term;
+        private final float similarity;
+
+        private Candidate(String term, float similarity) {
+            this.term = term;
+            this.similarity = similarity;
+        }
+    }
+}
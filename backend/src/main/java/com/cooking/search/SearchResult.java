@@ -0,0 +1,25 @@
+package com.cooking.search;
+
+/**
+ * Résultat d'une recherche : les meilleurs identifiants par pertinence et le nombre total de correspondances
+ */
+public class SearchResult {
+
+    static final SearchResult EMPTY = new SearchResult(new int[0], 0);
+
+    private final int[] recipeIds;
+    private final int totalHits;
+
+    SearchResult(int[] recipeIds, int totalHits) {
+        this.recipeIds = recipeIds;
+        this.totalHits = totalHits;
+    }
+
+    public int[] getRecipeIds() {
+        return recipeIds;
+    }
+
+    public int getTotalHits() {
+        return totalHits;
+    }
+}
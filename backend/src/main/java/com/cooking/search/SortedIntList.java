@@ -0,0 +1,47 @@
+package com.cooking.search;
+
+import java.util.Arrays;
+
+/**
+ * Liste triée et sans doublons d'entiers primitifs
+ */
+final class SortedIntList {
+
+    private int[] values = new int[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    void add(int value) {
+        int insertAt;
+        if (size == 0 || values[size - 1] < value) {
+            insertAt = size;
+        } else {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position >= 0) {
+                return;
+            }
+            insertAt = -position - 1;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+    }
+
+    void remove(int value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position >= 0) {
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+        }
+    }
+}
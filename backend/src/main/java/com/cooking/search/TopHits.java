@@ -0,0 +1,92 @@
+package com.cooking.search;
+
+/**
+ * Tas binaire minimal de taille bornée gardant les k meilleurs scores (coût O(n log k)).
+ * À score égal, la recette la plus récente (identifiant le plus grand) l'emporte.
+ */
+final class TopHits {
+
+    private final int capacity;
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+
+    TopHits(int capacity) {
+        this.capacity = capacity;
+        this.ids = new int[capacity];
+        this.scores = new float[capacity];
+    }
+
+    void offer(int id, float score) {
+        if (capacity == 0) {
+            return;
+        }
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (better(id, score, ids[0], scores[0])) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Vider le tas en renvoyant les identifiants du meilleur au moins bon
+     */
+    int[] drainDescending() {
+        int[] ranked = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ranked[i] = ids[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return ranked;
+    }
+
+    private static boolean better(int id, float score, int otherId, float otherScore) {
+        return score > otherScore || (score == otherScore && id > otherId);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(ids[parent], scores[parent], ids[index], scores[index])) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int smallest = left;
+            if (right < size && better(ids[left], scores[left], ids[right], scores[right])) {
+                smallest = right;
+            }
+            if (!better(ids[index], scores[index], ids[smallest], scores[smallest])) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,56 @@
+package com.cooking.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Mesure BCrypt sur la machine courante et choisit le coût le plus élevé
+ * dont la durée estimée reste sous la latence cible.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    static final int MIN_COST = 10;
+    static final int MAX_COST = 16;
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetLatencyMs) {
+        return calibrate(targetLatencyMs, BCryptCostCalibrator::hash);
+    }
+
+    // hashNanos : durée d'un hachage au coût donné (réelle ici, simulée dans les tests)
+    static int calibrate(long targetLatencyMs, IntToLongFunction hashNanos) {
+        // Échauffement JIT, puis meilleur temps sur quelques essais au coût minimal
+        hashNanos.applyAsLong(MIN_COST);
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            bestNanos = Math.min(bestNanos, hashNanos.applyAsLong(MIN_COST));
+        }
+
+        // Chaque point de coût double le nombre de tours : on extrapole sans mesurer les coûts élevés
+        double estimatedMs = bestNanos / 1_000_000.0;
+        int cost = MIN_COST;
+        while (cost < MAX_COST && estimatedMs * 2 <= targetLatencyMs) {
+            estimatedMs *= 2;
+            cost++;
+        }
+
+        logger.info("🔐 Calibrage BCrypt : coût {} (~{} ms estimées, cible {} ms)",
+                cost, Math.round(estimatedMs), targetLatencyMs);
+        return cost;
+    }
+
+    private static long hash(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration", salt);
+        return System.nanoTime() - start;
+    }
+}
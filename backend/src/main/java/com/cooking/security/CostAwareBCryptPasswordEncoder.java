@@ -0,0 +1,42 @@
+package com.cooking.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt dont la migration se déclenche dès que le coût stocké diffère du coût cible,
+ * y compris vers le bas (BCryptPasswordEncoder ne ré-encode que les coûts inférieurs).
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int cost;
+
+    public CostAwareBCryptPasswordEncoder(int cost) {
+        super(cost);
+        this.cost = cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        int storedCost = storedCost(encodedPassword);
+        return storedCost < 0 || storedCost != cost;
+    }
+
+    // Format attendu : $2a$12$<sel+hash>
+    private static int storedCost(String encodedPassword) {
+        if (encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.cooking.security;
 
-import com.cooking.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,7 +22,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider tokenProvider;
     
     @Autowired
-    private UserService userService;
+    private PrincipalCache principalCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -32,10 +31,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            VerifiedClaims claims = StringUtils.hasText(jwt) ? tokenProvider.verify(jwt) : null;
+            if (claims != null && claims.getUserId() != null) {
+                // Vérifié une seule fois : les contrôleurs relisent les claims depuis la requête
+                request.setAttribute(VerifiedClaims.ATTRIBUTE, claims);
                 
-                UserDetails userDetails = userService.loadUserByUsername(username);
+                UserDetails userDetails = principalCache.get(claims.getUserId());
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
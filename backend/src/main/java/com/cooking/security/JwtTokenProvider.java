@@ -1,5 +1,7 @@
 package com.cooking.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,6 +9,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 
 @Component
@@ -14,13 +17,25 @@ public class JwtTokenProvider {
 
     private final Key key;
     private final int jwtExpirationInMs;
+    // Parseur immuable et thread-safe, construit une seule fois
+    private final JwtParser parser;
+    // Jetons récemment vérifiés (clé = jeton complet) : évite de recalculer le HMAC
+    private final Cache<String, VerifiedClaims> verifiedTokens;
 
     public JwtTokenProvider(
             @Value("${app.jwtSecret}") String jwtSecret,
-            @Value("${app.jwtExpirationInMs}") int jwtExpirationInMs) {
+            @Value("${app.jwtExpirationInMs}") int jwtExpirationInMs,
+            @Value("${app.jwt.verified-cache-size:1024}") int verifiedCacheSize) {
         // Le secret doit faire au moins 256 bits pour HS256/HS512 (ici 512 bits pour HS512)
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         this.jwtExpirationInMs = jwtExpirationInMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = verifiedCacheSize > 0
+            ? Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build()
+            : null;
     }
 
     /**
@@ -42,11 +57,44 @@ public class JwtTokenProvider {
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Vérifier le token une seule fois et en extraire les claims utiles (null si invalide ou expiré)
+     */
+    public VerifiedClaims verify(String token) {
+        if (verifiedTokens != null) {
+            VerifiedClaims cached = verifiedTokens.getIfPresent(token);
+            if (cached != null) {
+                if (!cached.isExpired()) {
+                    return cached;
+                }
+                verifiedTokens.invalidate(token);
+                return null;
+            }
+        }
+        Claims claims;
+        try {
+            claims = parseClaims(token);
+        } catch (JwtException ex) {
+            System.err.println("JWT invalid: " + ex.getMessage());
+            return null;
+        } catch (IllegalArgumentException ex) {
+            System.err.println("JWT claims string est vide");
+            return null;
+        }
+        Object userId = claims.get("userId");
+        Object role = claims.get("role");
+        VerifiedClaims verified = new VerifiedClaims(
+            userId != null ? Long.valueOf(userId.toString()) : null,
+            claims.getSubject(),
+            role != null ? role.toString() : null,
+            claims.getExpiration());
+        if (verifiedTokens != null) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
     }
 
     /**
@@ -75,7 +123,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
+            parser.parseClaimsJws(authToken);
             return true;
         } catch (JwtException ex) { // Couvre SignatureException, MalformedJwtException, ExpiredJwtException, UnsupportedJwtException
             System.err.println("JWT invalid: " + ex.getMessage());
@@ -0,0 +1,66 @@
+package com.cooking.security;
+
+import com.cooking.exception.ResourceNotFoundException;
+import com.cooking.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Cache borné (taille + durée de vie) des UserPrincipal par identifiant, pour éviter
+ * une requête sur la table users à chaque appel authentifié.
+ * Les modifications d'un compte doivent appeler {@link #evict(Long)}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, UserPrincipal> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build(this::load);
+        // cache.gets (hit/miss), cache.evictions, cache.load.duration...
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    public UserPrincipal get(Long userId) {
+        return cache.get(userId);
+    }
+
+    /**
+     * Invalider l'entrée d'un utilisateur, à nouveau après validation de la transaction en cours :
+     * une requête concurrente ne peut ainsi pas remettre en cache l'ancien état.
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private UserPrincipal load(Long userId) {
+        return userRepository.findById(userId)
+            .map(UserPrincipal::create)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    }
+}
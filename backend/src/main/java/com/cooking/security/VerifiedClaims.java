@@ -0,0 +1,49 @@
+package com.cooking.security;
+
+import java.util.Date;
+
+/**
+ * Claims d'un JWT dont la signature a été vérifiée une seule fois par le filtre
+ * d'authentification, puis exposées aux contrôleurs via un attribut de requête
+ * ({@code @RequestAttribute(VerifiedClaims.ATTRIBUTE)}).
+ */
+public class VerifiedClaims {
+
+    public static final String ATTRIBUTE = "com.cooking.security.VerifiedClaims";
+
+    private final Long userId;
+    private final String username;
+    private final String role;
+    private final Date expiration;
+
+    public VerifiedClaims(Long userId, String username, String role, Date expiration) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.expiration = expiration;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equalsIgnoreCase(role);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
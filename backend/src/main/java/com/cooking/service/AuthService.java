@@ -1,14 +1,17 @@
 package com.cooking.service;
 
 import com.cooking.entity.User;
+import com.cooking.event.CatalogChangedEvent;
 import com.cooking.repository.UserRepository;
 import com.cooking.security.JwtTokenProvider;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService {
@@ -16,20 +19,27 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthService(
         AuthenticationManager authenticationManager,
         JwtTokenProvider jwtTokenProvider,
         UserRepository userRepository,
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        EmailService emailService,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
     }
 
     // Utilise Spring Security pour authentifier et générer le JWT
+    // (le provider ré-encode au passage les hashs dont l'algorithme ou le coût BCrypt est obsolète)
     public String authenticate(String username, String password) {
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(username, password)
@@ -39,17 +49,22 @@ public class AuthService {
 
     public User findByUsername(String username) {
         return userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+            .orElseThrow(() -> new IllegalArgumentException("Utilisateur non trouvé"));
     }
 
+    // L'email de bienvenue est écrit dans la file d'envoi dans la même transaction que l'utilisateur
+    @Transactional
     public User register(String username, String email, String password) {
         if (userRepository.findByUsername(username).isPresent())
-            throw new RuntimeException("Ce nom d'utilisateur existe déjà");
+            throw new IllegalArgumentException("Ce nom d'utilisateur existe déjà");
 
         if (userRepository.findByEmail(email).isPresent())
-            throw new RuntimeException("Cet email existe déjà");
+            throw new IllegalArgumentException("Cet email existe déjà");
 
         User user = new User(username, email, passwordEncoder.encode(password), User.Role.USER);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        emailService.sendWelcomeEmail(saved);
+        eventPublisher.publishEvent(CatalogChangedEvent.users());
+        return saved;
     }
 }
@@ -0,0 +1,145 @@
+package com.cooking.service;
+
+import com.cooking.dto.CampaignRecipient;
+import com.cooking.email.EmailTemplate;
+import com.cooking.email.SendRateLimiter;
+import com.cooking.entity.EmailCampaign;
+import com.cooking.entity.OutboxEmail;
+import com.cooking.repository.EmailCampaignRepository;
+import com.cooking.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envoi des campagnes en cours : destinataires lus par pages (keyset sur l'id),
+ * messages rendus par utilisateur puis répartis en lots sur un pool de connexions SMTP
+ * au débit limité. Le point de reprise est enregistré après chaque page, donc un
+ * redémarrage reprend la campagne à la page interrompue (qui peut être renvoyée en partie).
+ */
+@Component
+public class CampaignRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampaignRunner.class);
+
+    private final EmailCampaignRepository campaignRepository;
+    private final UserRepository userRepository;
+    private final CampaignService campaignService;
+    private final EmailService emailService;
+    private final SendRateLimiter rateLimiter;
+    private final ExecutorService connections;
+    private final int pageSize;
+    private final int batchSize;
+
+    public CampaignRunner(EmailCampaignRepository campaignRepository,
+                          UserRepository userRepository,
+                          CampaignService campaignService,
+                          EmailService emailService,
+                          @Value("${app.mail.campaign.connections:4}") int connectionCount,
+                          @Value("${app.mail.campaign.rate-per-second:20}") double ratePerSecond,
+                          @Value("${app.mail.campaign.page-size:200}") int pageSize,
+                          @Value("${app.mail.campaign.batch-size:25}") int batchSize) {
+        this.campaignRepository = campaignRepository;
+        this.userRepository = userRepository;
+        this.campaignService = campaignService;
+        this.emailService = emailService;
+        this.rateLimiter = new SendRateLimiter(ratePerSecond);
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+
+        // Threads classiques même avec spring.threads.virtual.enabled : JavaMail envoie sous moniteur
+        // (SMTPTransport synchronized) et épinglerait un porteur par connexion. La boucle des pages, elle,
+        // tourne sur le thread planifié, virtuel dans ce mode : l'attente du débit ne bloque aucun porteur.
+        AtomicInteger counter = new AtomicInteger();
+        this.connections = Executors.newFixedThreadPool(connectionCount, runnable -> {
+            Thread thread = new Thread(runnable, "campaign-smtp-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.campaign.poll-interval-ms:5000}")
+    public void run() {
+        Optional<EmailCampaign> running = campaignRepository.findFirstByStatusOrderByIdAsc(EmailCampaign.Status.RUNNING);
+        if (running.isEmpty()) {
+            return;
+        }
+        EmailCampaign campaign = running.get();
+        EmailTemplate body = CampaignService.compileBody(campaign);
+        long lastUserId = campaign.getLastUserId();
+
+        logger.info("📣 Campagne {} : reprise après l'utilisateur {}", campaign.getId(), lastUserId);
+        try {
+            while (true) {
+                List<CampaignRecipient> page = userRepository.findCampaignRecipientsAfter(lastUserId, PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    campaignService.completeCampaign(campaign.getId());
+                    logger.info("✅ Campagne {} terminée", campaign.getId());
+                    return;
+                }
+
+                List<OutboxEmail> messages = new ArrayList<>(page.size());
+                for (CampaignRecipient recipient : page) {
+                    String content = body.render(recipient.getDisplayName(), recipient.getUsername(), recipient.getEmail());
+                    messages.add(new OutboxEmail(recipient.getEmail(), campaign.getSubject(), content, campaign.isHtml()));
+                }
+                List<OutboxEmail> failed = send(messages);
+
+                lastUserId = page.get(page.size() - 1).getId();
+                boolean stillRunning = campaignService.recordPage(campaign.getId(), lastUserId,
+                        messages.size() - failed.size(), failed);
+                if (!stillRunning) {
+                    logger.info("⏸️ Campagne {} arrêtée après l'utilisateur {}", campaign.getId(), lastUserId);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Arrêt de l'application : la page en cours sera reprise au démarrage suivant
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Envoyer une page par lots, chaque lot sur une connexion SMTP du pool ; retourne les messages en échec
+     */
+    private List<OutboxEmail> send(List<OutboxEmail> messages) throws InterruptedException {
+        List<List<OutboxEmail>> batches = new ArrayList<>();
+        List<Future<Map<OutboxEmail, Exception>>> results = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            List<OutboxEmail> batch = messages.subList(from, Math.min(from + batchSize, messages.size()));
+            rateLimiter.acquire(batch.size());
+            batches.add(batch);
+            results.add(connections.submit(() -> emailService.deliverBatch(batch)));
+        }
+
+        List<OutboxEmail> failed = new ArrayList<>();
+        for (int i = 0; i < batches.size(); i++) {
+            try {
+                failed.addAll(results.get(i).get().keySet());
+            } catch (ExecutionException e) {
+                logger.error("❌ Lot de campagne en échec: {}", e.getCause().getMessage());
+                failed.addAll(batches.get(i));
+            }
+        }
+        return failed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.shutdownNow();
+    }
+}
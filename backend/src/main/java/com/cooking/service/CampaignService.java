@@ -0,0 +1,114 @@
+package com.cooking.service;
+
+import com.cooking.email.EmailTemplate;
+import com.cooking.entity.EmailCampaign;
+import com.cooking.entity.OutboxEmail;
+import com.cooking.exception.ResourceNotFoundException;
+import com.cooking.repository.EmailCampaignRepository;
+import com.cooking.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cycle de vie des campagnes d'email et enregistrement de leur avancement
+ */
+@Service
+@Transactional
+public class CampaignService {
+
+    public static final String[] TEMPLATE_VARIABLES = {"userName", "username", "email"};
+
+    private final EmailCampaignRepository campaignRepository;
+    private final UserRepository userRepository;
+    private final EmailOutboxService emailOutboxService;
+
+    public CampaignService(EmailCampaignRepository campaignRepository, UserRepository userRepository,
+                           EmailOutboxService emailOutboxService) {
+        this.campaignRepository = campaignRepository;
+        this.userRepository = userRepository;
+        this.emailOutboxService = emailOutboxService;
+    }
+
+    public static EmailTemplate compileBody(EmailCampaign campaign) {
+        return campaign.isHtml()
+            ? EmailTemplate.compile(campaign.getBody(), TEMPLATE_VARIABLES)
+            : EmailTemplate.compileText(campaign.getBody(), TEMPLATE_VARIABLES);
+    }
+
+    public EmailCampaign createCampaign(String subject, String body, boolean html, String createdBy) {
+        EmailCampaign campaign = new EmailCampaign(subject, body, html, createdBy);
+        // Rejeter tout de suite un gabarit invalide plutôt qu'en cours d'envoi
+        compileBody(campaign);
+        return campaignRepository.save(campaign);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmailCampaign> getCampaigns() {
+        return campaignRepository.findAllByOrderByIdDesc();
+    }
+
+    @Transactional(readOnly = true)
+    public EmailCampaign getCampaign(Long id) {
+        return campaignRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("EmailCampaign", "id", id));
+    }
+
+    /**
+     * Lancer une campagne, ou la reprendre après une pause au dernier point de reprise
+     */
+    public EmailCampaign startCampaign(Long id) {
+        EmailCampaign campaign = getCampaign(id);
+        if (campaign.getStatus() != EmailCampaign.Status.DRAFT && campaign.getStatus() != EmailCampaign.Status.PAUSED) {
+            throw new IllegalStateException("Seule une campagne en brouillon ou en pause peut être lancée");
+        }
+        if (campaign.getStartedAt() == null) {
+            campaign.setStartedAt(LocalDateTime.now());
+            campaign.setTotalRecipients(userRepository.countCampaignRecipients());
+        }
+        campaign.setStatus(EmailCampaign.Status.RUNNING);
+        return campaign;
+    }
+
+    public EmailCampaign pauseCampaign(Long id) {
+        EmailCampaign campaign = getCampaign(id);
+        if (campaign.getStatus() != EmailCampaign.Status.RUNNING) {
+            throw new IllegalStateException("Seule une campagne en cours peut être mise en pause");
+        }
+        campaign.setStatus(EmailCampaign.Status.PAUSED);
+        return campaign;
+    }
+
+    public EmailCampaign cancelCampaign(Long id) {
+        EmailCampaign campaign = getCampaign(id);
+        if (campaign.getStatus() == EmailCampaign.Status.COMPLETED || campaign.getStatus() == EmailCampaign.Status.CANCELLED) {
+            throw new IllegalStateException("Cette campagne est déjà terminée");
+        }
+        campaign.setStatus(EmailCampaign.Status.CANCELLED);
+        return campaign;
+    }
+
+    /**
+     * Point de reprise d'une page envoyée : les échecs partent dans la file d'emails
+     * (nouvelles tentatives puis messages morts) dans la même transaction.
+     * Retourne vrai si la campagne est toujours en cours.
+     */
+    public boolean recordPage(Long id, long lastUserId, int sent, List<OutboxEmail> failed) {
+        EmailCampaign campaign = getCampaign(id);
+        for (OutboxEmail email : failed) {
+            emailOutboxService.enqueue(email.getRecipient(), email.getSubject(), email.getBody(), email.isHtml());
+        }
+        campaign.recordPage(lastUserId, sent, failed.size());
+        return campaign.getStatus() == EmailCampaign.Status.RUNNING;
+    }
+
+    public void completeCampaign(Long id) {
+        EmailCampaign campaign = getCampaign(id);
+        if (campaign.getStatus() == EmailCampaign.Status.RUNNING) {
+            campaign.setStatus(EmailCampaign.Status.COMPLETED);
+            campaign.setCompletedAt(LocalDateTime.now());
+        }
+    }
+}
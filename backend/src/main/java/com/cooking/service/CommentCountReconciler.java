@@ -0,0 +1,41 @@
+package com.cooking.service;
+
+import com.cooking.event.CatalogChangedEvent;
+import com.cooking.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Réparation périodique des compteurs de commentaires des recettes
+ * (suppressions en cascade, écritures hors application...)
+ */
+@Component
+public class CommentCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentCountReconciler.class);
+
+    private final RecipeRepository recipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CommentCountReconciler(RecipeRepository recipeRepository, ApplicationEventPublisher eventPublisher) {
+        this.recipeRepository = recipeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(cron = "${app.comments.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        int repaired = recipeRepository.reconcileCommentCounts();
+        if (repaired > 0) {
+            logger.warn("🔧 {} compteur(s) de commentaires corrigé(s)", repaired);
+            eventPublisher.publishEvent(CatalogChangedEvent.commentCounts());
+        } else {
+            logger.info("✅ Compteurs de commentaires à jour");
+        }
+        return repaired;
+    }
+}
@@ -3,27 +3,41 @@ package com.cooking.service;
 import com.cooking.entity.Comment;
 import com.cooking.entity.Recipe;
 import com.cooking.entity.User;
+import com.cooking.event.CatalogChangedEvent;
 import com.cooking.repository.CommentRepository;
+import com.cooking.repository.RecipeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Transactional
 public class CommentService {
 
     private final CommentRepository commentRepository;
+    private final RecipeRepository recipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentService(CommentRepository commentRepository) {
+    public CommentService(CommentRepository commentRepository, RecipeRepository recipeRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
+        this.recipeRepository = recipeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    // Ajouter un commentaire
+    // Ajouter un commentaire (et incrémenter le compteur et la version de la recette)
     public Comment addComment(String content, User user, Recipe recipe) {
         Comment comment = new Comment(content, user, recipe);
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        recipeRepository.incrementCommentCount(recipe.getId());
+        eventPublisher.publishEvent(CatalogChangedEvent.comment(recipe.getId()));
+        return saved;
     }
 
     // Lister les commentaires par recette
+    @Transactional(readOnly = true)
     public List<Comment> getCommentsByRecipe(Long recipeId) {
         return commentRepository.findByRecipeId(recipeId);
     }
@@ -33,6 +47,8 @@ public class CommentService {
         return commentRepository.findById(commentId).map(comment -> {
             if (isAdmin || comment.getUser().getId().equals(userId)) {
                 commentRepository.delete(comment);
+                recipeRepository.decrementCommentCount(comment.getRecipe().getId());
+                eventPublisher.publishEvent(CatalogChangedEvent.comment(comment.getRecipe().getId()));
                 return true;
             }
             return false;
@@ -0,0 +1,147 @@
+package com.cooking.service;
+
+import com.cooking.entity.OutboxEmail;
+import com.cooking.repository.OutboxEmailRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.AddressException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Vidage périodique de la file d'emails : envoi par lots sur une même connexion SMTP,
+ * nouvelles tentatives à délai exponentiel, puis passage en DEAD après le dernier échec.
+ * Suppose une seule instance de l'application (pas de verrouillage des lignes).
+ * En threads virtuels, le dialogue SMTP part sur un thread classique dédié (voir smtp).
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailService emailService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final long baseBackoffSeconds;
+    private final long maxBackoffSeconds;
+    // JavaMail envoie sous moniteur (SMTPTransport synchronized) : sur un thread virtuel, le porteur resterait
+    // épinglé pendant tout le dialogue SMTP. Null en threads classiques (envoi sur le thread planifié).
+    private final ExecutorService smtp;
+
+    public EmailOutboxDispatcher(OutboxEmailRepository outboxEmailRepository,
+                                 EmailService emailService,
+                                 @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.mail.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                                 @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${app.mail.outbox.base-backoff-seconds:30}") long baseBackoffSeconds,
+                                 @Value("${app.mail.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+                                 Environment environment) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.emailService = emailService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffSeconds = baseBackoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.smtp = Threading.VIRTUAL.isActive(environment) ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-smtp");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public int dispatch() {
+        int processed = 0;
+        for (int run = 0; run < maxBatchesPerRun; run++) {
+            List<OutboxEmail> batch = outboxEmailRepository.findDue(
+                    OutboxEmail.Status.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                processed += dispatchBatch(batch);
+            } catch (InterruptedException e) {
+                // Arrêt de l'application : le lot reste PENDING et repartira au démarrage suivant
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return processed;
+    }
+
+    private int dispatchBatch(List<OutboxEmail> batch) throws InterruptedException {
+        // Envoi hors transaction : aucune connexion JDBC n'est retenue pendant le dialogue SMTP
+        Map<OutboxEmail, Exception> failures = deliver(batch);
+
+        LocalDateTime now = LocalDateTime.now();
+        int sent = 0;
+        int retried = 0;
+        int dead = 0;
+        for (OutboxEmail email : batch) {
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                email.markSent();
+                sent++;
+            } else if (failure instanceof AddressException || email.getAttempts() + 1 >= maxAttempts) {
+                email.markDead(failure.getMessage());
+                dead++;
+                logger.error("💀 Email {} abandonné pour {} après {} tentative(s): {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), failure.getMessage());
+            } else {
+                email.markFailed(failure.getMessage(), now.plusSeconds(backoffSeconds(email.getAttempts() + 1)));
+                retried++;
+            }
+        }
+        outboxEmailRepository.saveAll(batch);
+
+        logger.info("📬 Lot d'emails traité : {} envoyé(s), {} à retenter, {} abandonné(s)", sent, retried, dead);
+        return batch.size();
+    }
+
+    private Map<OutboxEmail, Exception> deliver(List<OutboxEmail> batch) throws InterruptedException {
+        if (smtp == null) {
+            return emailService.deliverBatch(batch);
+        }
+        try {
+            return smtp.submit(() -> emailService.deliverBatch(batch)).get();
+        } catch (ExecutionException e) {
+            // deliverBatch traite lui-même les erreurs SMTP : seul un bug arrive ici, tout le lot sera retenté
+            Exception cause = e.getCause() instanceof Exception exception ? exception : e;
+            Map<OutboxEmail, Exception> failures = new IdentityHashMap<>();
+            batch.forEach(email -> failures.put(email, cause));
+            return failures;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (smtp != null) {
+            smtp.shutdownNow();
+        }
+    }
+
+    // 30 s, 60 s, 120 s... plafonné
+    private long backoffSeconds(int attempt) {
+        long delay = baseBackoffSeconds << Math.min(attempt - 1, 30);
+        return Math.min(delay, maxBackoffSeconds);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cooking.service;
+
+import com.cooking.entity.OutboxEmail;
+import com.cooking.exception.ResourceNotFoundException;
+import com.cooking.repository.OutboxEmailRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Écriture dans la file d'emails (outbox) et administration des messages morts
+ */
+@Service
+@Transactional
+public class EmailOutboxService {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+
+    public EmailOutboxService(OutboxEmailRepository outboxEmailRepository) {
+        this.outboxEmailRepository = outboxEmailRepository;
+    }
+
+    /**
+     * Mettre un email en file dans la transaction de l'appelant :
+     * il ne part que si la modification qui le déclenche est validée
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public OutboxEmail enqueue(String recipient, String subject, String body, boolean html) {
+        return outboxEmailRepository.save(new OutboxEmail(recipient, subject, body, html));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OutboxEmail> getDeadLetters(int page, int size) {
+        return outboxEmailRepository.findByStatusOrderByIdDesc(OutboxEmail.Status.DEAD, PageRequest.of(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<OutboxEmail.Status, Long> countByStatus() {
+        Map<OutboxEmail.Status, Long> counts = new EnumMap<>(OutboxEmail.Status.class);
+        for (OutboxEmail.Status status : OutboxEmail.Status.values()) {
+            counts.put(status, outboxEmailRepository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    /**
+     * Remettre un message mort en file pour un nouveau cycle de tentatives
+     */
+    public OutboxEmail requeue(Long id) {
+        OutboxEmail email = outboxEmailRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("OutboxEmail", "id", id));
+        if (email.getStatus() != OutboxEmail.Status.DEAD) {
+            throw new IllegalStateException("Seuls les emails en échec définitif peuvent être renvoyés");
+        }
+        email.requeue();
+        return email;
+    }
+}
@@ -1,17 +1,25 @@
 package com.cooking.service;
 
+import com.cooking.email.EmailTemplate;
+import com.cooking.entity.OutboxEmail;
 import com.cooking.entity.User;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @Profile("!dev")  // Ne pas charger en mode dev
 public class EmailService {
@@ -21,6 +29,9 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
     
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+    
     @Value("${app.mail.from:noreply@cooking-app.com}")
     private String fromEmail;
     
@@ -31,136 +42,103 @@ public class EmailService {
     private String frontendUrl;
     
     /**
-     * Envoyer un email de bienvenue à un nouvel utilisateur
+     * Mettre en file l'email de bienvenue d'un nouvel utilisateur
      */
     public void sendWelcomeEmail(User user) {
-        if (!emailEnabled) {
+        if (!isEmailEnabled()) {
             logger.info("📧 Email désactivé - Email de bienvenue non envoyé à: {}", user.getEmail());
             return;
         }
         
-        try {
-            logger.info("📧 Envoi de l'email de bienvenue à: {}", user.getEmail());
-            
-            // Créer l'email HTML
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(user.getEmail());
-            helper.setSubject("🍳 Bienvenue sur Cooking Website !");
-            
-            String htmlContent = buildWelcomeEmailHtml(user);
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            
-            logger.info("✅ Email de bienvenue envoyé avec succès à: {}", user.getEmail());
-            
-        } catch (Exception e) {
-            logger.error("❌ Erreur lors de l'envoi de l'email de bienvenue à {}: {}", 
-                        user.getEmail(), e.getMessage(), e);
-            // Ne pas faire échouer l'inscription si l'email ne peut pas être envoyé
-        }
+        emailOutboxService.enqueue(user.getEmail(), "🍳 Bienvenue sur Cooking Website !", buildWelcomeEmailHtml(user), true);
+        logger.info("📥 Email de bienvenue mis en file pour: {}", user.getEmail());
     }
     
     /**
-     * Envoyer un email de vérification d'adresse
+     * Mettre en file l'email de vérification d'adresse
      */
     public void sendVerificationEmail(User user, String verificationToken) {
-        if (!emailEnabled) {
+        if (!isEmailEnabled()) {
             logger.info("📧 Email désactivé - Email de vérification non envoyé à: {}", user.getEmail());
             return;
         }
         
-        try {
-            logger.info("📧 Envoi de l'email de vérification à: {}", user.getEmail());
-            
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(user.getEmail());
-            helper.setSubject("🔐 Vérifiez votre adresse email - Cooking Website");
-            
-            String htmlContent = buildVerificationEmailHtml(user, verificationToken);
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            
-            logger.info("✅ Email de vérification envoyé avec succès à: {}", user.getEmail());
-            
-        } catch (Exception e) {
-            logger.error("❌ Erreur lors de l'envoi de l'email de vérification à {}: {}", 
-                        user.getEmail(), e.getMessage(), e);
-        }
+        emailOutboxService.enqueue(user.getEmail(), "🔐 Vérifiez votre adresse email - Cooking Website",
+            buildVerificationEmailHtml(user, verificationToken), true);
+        logger.info("📥 Email de vérification mis en file pour: {}", user.getEmail());
     }
     
     /**
-     * Envoyer un email simple (texte brut)
+     * Mettre en file un email simple (texte brut)
      */
     public void sendSimpleEmail(String to, String subject, String text) {
-        if (!emailEnabled) {
+        if (!isEmailEnabled()) {
             logger.info("📧 Email désactivé - Email simple non envoyé à: {}", to);
             return;
         }
         
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            
-            mailSender.send(message);
-            
-            logger.info("✅ Email simple envoyé avec succès à: {}", to);
-            
-        } catch (Exception e) {
-            logger.error("❌ Erreur lors de l'envoi de l'email simple à {}: {}", to, e.getMessage(), e);
-        }
+        emailOutboxService.enqueue(to, subject, text, false);
+        logger.info("📥 Email simple mis en file pour: {}", to);
     }
     
     /**
-     * Envoyer un email de réinitialisation de mot de passe
+     * Mettre en file l'email de réinitialisation de mot de passe
      */
     public void sendPasswordResetEmail(User user, String resetToken) {
-        if (!emailEnabled) {
+        if (!isEmailEnabled()) {
             logger.info("📧 Email désactivé - Email de reset non envoyé à: {}", user.getEmail());
             return;
         }
         
-        try {
-            logger.info("📧 Envoi de l'email de réinitialisation à: {}", user.getEmail());
-            
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(user.getEmail());
-            helper.setSubject("🔑 Réinitialisation de votre mot de passe - Cooking Website");
-            
-            String htmlContent = buildPasswordResetEmailHtml(user, resetToken);
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            
-            logger.info("✅ Email de réinitialisation envoyé avec succès à: {}", user.getEmail());
-            
-        } catch (Exception e) {
-            logger.error("❌ Erreur lors de l'envoi de l'email de réinitialisation à {}: {}", 
-                        user.getEmail(), e.getMessage(), e);
-        }
+        emailOutboxService.enqueue(user.getEmail(), "🔑 Réinitialisation de votre mot de passe - Cooking Website",
+            buildPasswordResetEmailHtml(user, resetToken), true);
+        logger.info("📥 Email de réinitialisation mis en file pour: {}", user.getEmail());
     }
     
     /**
-     * Construire le contenu HTML de l'email de bienvenue
+     * Envoyer un lot d'emails sur une seule connexion SMTP.
+     * Retourne les échecs par message (identité) ; les messages absents de la map sont partis.
      */
-    private String buildWelcomeEmailHtml(User user) {
-        String userName = user.getFirstName() != null ? user.getFirstName() : user.getUsername();
-        String roleFriendlyName = getRoleFriendlyName(user.getRole());
+    public Map<OutboxEmail, Exception> deliverBatch(List<OutboxEmail> batch) {
+        Map<OutboxEmail, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, OutboxEmail> emailsByMessage = new IdentityHashMap<>();
+        
+        for (OutboxEmail email : batch) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, email.isHtml(), "UTF-8");
+                helper.setFrom(fromEmail);
+                helper.setTo(email.getRecipient());
+                helper.setSubject(email.getSubject());
+                helper.setText(email.getBody(), email.isHtml());
+                emailsByMessage.put(message, email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+        if (emailsByMessage.isEmpty()) {
+            return failures;
+        }
         
-        return String.format("""
+        try {
+            mailSender.send(emailsByMessage.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                emailsByMessage.values().forEach(email -> failures.put(email, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> failures.put(emailsByMessage.get(message), cause));
+            }
+        } catch (MailException e) {
+            // Connexion ou authentification SMTP impossible : tout le lot sera retenté
+            logger.error("❌ Envoi du lot d'emails impossible: {}", e.getMessage());
+            emailsByMessage.values().forEach(email -> failures.put(email, e));
+        }
+        return failures;
+    }
+    
+    // Gabarits analysés une seule fois au chargement de la classe (variables {{nom}} échappées au rendu).
+    // Source de l'email de bienvenue visible du paquet pour le benchmark contre String.format
+    static final String WELCOME_HTML = """
             <!DOCTYPE html>
             <html lang="fr">
             <head>
@@ -170,7 +148,7 @@ public class EmailService {
                 <style>
                     body { font-family: 'Arial', sans-serif; line-height: 1.6; color: #333; margin: 0; padding: 0; background: #f4f4f4; }
                     .container { max-width: 600px; margin: 0 auto; background: white; padding: 0; border-radius: 10px; box-shadow: 0 0 20px rgba(0,0,0,0.1); }
-                    .header { background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
+                    .header { background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
                     .header h1 { margin: 0; font-size: 28px; }
                     .content { padding: 30px; }
                     .content h2 { color: #667eea; margin-top: 0; }
@@ -189,15 +167,15 @@ public class EmailService {
                     </div>
                     
                     <div class="content">
-                        <h2>Bonjour %s ! 👋</h2>
+                        <h2>Bonjour {{userName}} ! 👋</h2>
                         
                         <p>Félicitations ! Votre compte a été créé avec succès.</p>
                         
                         <p><strong>Informations de votre compte :</strong></p>
                         <ul>
-                            <li><strong>Nom d'utilisateur :</strong> %s</li>
-                            <li><strong>Email :</strong> %s</li>
-                            <li><strong>Rôle :</strong> <span class="role-badge">%s</span></li>
+                            <li><strong>Nom d'utilisateur :</strong> {{username}}</li>
+                            <li><strong>Email :</strong> {{email}}</li>
+                            <li><strong>Rôle :</strong> <span class="role-badge">{{role}}</span></li>
                         </ul>
                         
                         <div class="features">
@@ -225,7 +203,7 @@ public class EmailService {
                         </div>
                         
                         <div style="text-align: center;">
-                            <a href="%s" class="cta-button">🚀 Commencer à cuisiner</a>
+                            <a href="{{frontendUrl}}" class="cta-button">🚀 Commencer à cuisiner</a>
                         </div>
                         
                         <p style="margin-top: 30px; font-size: 14px; color: #666;">
@@ -242,17 +220,23 @@ public class EmailService {
                 </div>
             </body>
             </html>
-            """, userName, user.getUsername(), user.getEmail(), roleFriendlyName, frontendUrl);
-    }
+            """;
+
+    static final String[] WELCOME_VARIABLES = { "userName", "username", "email", "role", "frontendUrl" };
+
+    private static final EmailTemplate WELCOME_TEMPLATE = EmailTemplate.compile(WELCOME_HTML, WELCOME_VARIABLES);
     
     /**
-     * Construire le contenu HTML de l'email de vérification
+     * Construire le contenu HTML de l'email de bienvenue
      */
-    private String buildVerificationEmailHtml(User user, String verificationToken) {
-        String verificationUrl = frontendUrl + "/verify-email?token=" + verificationToken;
+    private String buildWelcomeEmailHtml(User user) {
         String userName = user.getFirstName() != null ? user.getFirstName() : user.getUsername();
+        String roleFriendlyName = getRoleFriendlyName(user.getRole());
         
-        return String.format("""
+        return WELCOME_TEMPLATE.render(userName, user.getUsername(), user.getEmail(), roleFriendlyName, frontendUrl);
+    }
+    
+    private static final EmailTemplate VERIFICATION_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html lang="fr">
             <head>
@@ -262,7 +246,7 @@ public class EmailService {
                 <style>
                     body { font-family: 'Arial', sans-serif; line-height: 1.6; color: #333; margin: 0; padding: 0; background: #f4f4f4; }
                     .container { max-width: 600px; margin: 0 auto; background: white; padding: 0; border-radius: 10px; box-shadow: 0 0 20px rgba(0,0,0,0.1); }
-                    .header { background: linear-gradient(135deg, #ff6b6b 0%%, #ee5a24 100%%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
+                    .header { background: linear-gradient(135deg, #ff6b6b 0%, #ee5a24 100%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
                     .content { padding: 30px; text-align: center; }
                     .cta-button { display: inline-block; background: linear-gradient(135deg, #ff6b6b, #ee5a24); color: white; padding: 15px 30px; text-decoration: none; border-radius: 25px; font-weight: bold; margin: 20px 0; }
                     .footer { background: #333; color: white; padding: 20px; text-align: center; border-radius: 0 0 10px 10px; font-size: 14px; }
@@ -275,10 +259,10 @@ public class EmailService {
                     </div>
                     
                     <div class="content">
-                        <h2>Bonjour %s !</h2>
+                        <h2>Bonjour {{userName}} !</h2>
                         <p>Pour activer votre compte, veuillez cliquer sur le bouton ci-dessous :</p>
                         
-                        <a href="%s" class="cta-button">✅ Vérifier mon email</a>
+                        <a href="{{verificationUrl}}" class="cta-button">✅ Vérifier mon email</a>
                         
                         <p style="font-size: 14px; color: #666; margin-top: 30px;">
                             Ce lien expire dans 24 heures.<br>
@@ -292,17 +276,19 @@ public class EmailService {
                 </div>
             </body>
             </html>
-            """, userName, verificationUrl);
-    }
+            """, "userName", "verificationUrl");
     
     /**
-     * Construire le contenu HTML de l'email de réinitialisation
+     * Construire le contenu HTML de l'email de vérification
      */
-    private String buildPasswordResetEmailHtml(User user, String resetToken) {
-        String resetUrl = frontendUrl + "/reset-password?token=" + resetToken;
+    private String buildVerificationEmailHtml(User user, String verificationToken) {
+        String verificationUrl = frontendUrl + "/verify-email?token=" + verificationToken;
         String userName = user.getFirstName() != null ? user.getFirstName() : user.getUsername();
         
-        return String.format("""
+        return VERIFICATION_TEMPLATE.render(userName, verificationUrl);
+    }
+    
+    private static final EmailTemplate PASSWORD_RESET_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html lang="fr">
             <head>
@@ -312,7 +298,7 @@ public class EmailService {
                 <style>
                     body { font-family: 'Arial', sans-serif; line-height: 1.6; color: #333; margin: 0; padding: 0; background: #f4f4f4; }
                     .container { max-width: 600px; margin: 0 auto; background: white; padding: 0; border-radius: 10px; box-shadow: 0 0 20px rgba(0,0,0,0.1); }
-                    .header { background: linear-gradient(135deg, #ffa726 0%%, #ff7043 100%%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
+                    .header { background: linear-gradient(135deg, #ffa726 0%, #ff7043 100%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
                     .content { padding: 30px; text-align: center; }
                     .cta-button { display: inline-block; background: linear-gradient(135deg, #ffa726, #ff7043); color: white; padding: 15px 30px; text-decoration: none; border-radius: 25px; font-weight: bold; margin: 20px 0; }
                     .footer { background: #333; color: white; padding: 20px; text-align: center; border-radius: 0 0 10px 10px; font-size: 14px; }
@@ -325,11 +311,11 @@ public class EmailService {
                     </div>
                     
                     <div class="content">
-                        <h2>Bonjour %s !</h2>
+                        <h2>Bonjour {{userName}} !</h2>
                         <p>Vous avez demandé une réinitialisation de votre mot de passe.</p>
                         <p>Cliquez sur le bouton ci-dessous pour définir un nouveau mot de passe :</p>
                         
-                        <a href="%s" class="cta-button">🔄 Réinitialiser mon mot de passe</a>
+                        <a href="{{resetUrl}}" class="cta-button">🔄 Réinitialiser mon mot de passe</a>
                         
                         <p style="font-size: 14px; color: #666; margin-top: 30px;">
                             Ce lien expire dans 1 heure pour des raisons de sécurité.<br>
@@ -343,7 +329,16 @@ public class EmailService {
                 </div>
             </body>
             </html>
-            """, userName, resetUrl);
+            """, "userName", "resetUrl");
+    
+    /**
+     * Construire le contenu HTML de l'email de réinitialisation
+     */
+    private String buildPasswordResetEmailHtml(User user, String resetToken) {
+        String resetUrl = frontendUrl + "/reset-password?token=" + resetToken;
+        String userName = user.getFirstName() != null ? user.getFirstName() : user.getUsername();
+        
+        return PASSWORD_RESET_TEMPLATE.render(userName, resetUrl);
     }
     
     /**
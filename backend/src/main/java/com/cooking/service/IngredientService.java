@@ -0,0 +1,87 @@
+package com.cooking.service;
+
+import com.cooking.entity.Ingredient;
+import com.cooking.repository.IngredientRepository;
+import com.cooking.search.IngredientParser;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+@Transactional
+public class IngredientService {
+
+    // Insertion si absent : ne verrouille pas une ligne existante (MERGE ... USING verrouille les lignes trouvées)
+    private static final String INSERT_IF_ABSENT = "INSERT INTO ingredients (name) " +
+        "SELECT n.name FROM (VALUES (CAST(? AS VARCHAR(255)))) n(name) " +
+        "WHERE NOT EXISTS (SELECT 1 FROM ingredients i WHERE i.name = n.name)";
+
+    private final IngredientRepository ingredientRepository;
+    // Même connexion que la transaction JPA en cours ; une erreur JDBC ne la marque pas rollback-only
+    private final JdbcTemplate jdbcTemplate;
+
+    public IngredientService(IngredientRepository ingredientRepository, JdbcTemplate jdbcTemplate) {
+        this.ingredientRepository = ingredientRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    /**
+     * Analyser le texte libre des ingrédients et renvoyer les ingrédients canoniques
+     * correspondants (créés au besoin)
+     */
+    public Set<Ingredient> resolve(String ingredientsText) {
+        return new HashSet<>(resolveNames(IngredientParser.parse(ingredientsText)).values());
+    }
+
+    /**
+     * Ingrédients canoniques par nom normalisé, créés au besoin (une seule requête pour tout un lot de recettes)
+     */
+    public Map<String, Ingredient> resolveNames(Set<String> names) {
+        Map<String, Ingredient> ingredients = new HashMap<>();
+        if (names.isEmpty()) {
+            return ingredients;
+        }
+
+        for (Ingredient ingredient : ingredientRepository.findByNameIn(names)) {
+            ingredients.put(ingredient.getName(), ingredient);
+        }
+        Set<String> missing = new HashSet<>(names);
+        missing.removeAll(ingredients.keySet());
+        if (missing.isEmpty()) {
+            return ingredients;
+        }
+
+        // Nom unique : une transaction concurrente peut insérer le même ingrédient entre la lecture et l'insertion.
+        // H2 rejoue alors l'INSERT conditionnel jusqu'à la fin de cette transaction ; validée, sa ligne est vue
+        // et rien n'est inséré (une violation éventuelle n'annule que l'instruction, rejouée seule ci-dessous).
+        // Noms triés : deux lots qui se recoupent attendent dans le même ordre et ne s'interbloquent pas.
+        List<String> sorted = List.copyOf(new TreeSet<>(missing));
+        try {
+            jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, sorted, sorted.size(),
+                (statement, name) -> statement.setString(1, name));
+        } catch (DuplicateKeyException e) {
+            for (String name : sorted) {
+                insertIfAbsent(name);
+            }
+        }
+        for (Ingredient ingredient : ingredientRepository.findByNameIn(missing)) {
+            ingredients.put(ingredient.getName(), ingredient);
+        }
+        return ingredients;
+    }
+
+    private void insertIfAbsent(String name) {
+        try {
+            jdbcTemplate.update(INSERT_IF_ABSENT, name);
+        } catch (DuplicateKeyException alreadyCreated) {
+            // Créé entre-temps par une autre transaction, désormais validée : la ligne existe
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.cooking.service;
+
+import com.cooking.search.RecipeIngredientIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Export complet du catalogue en JSON délimité par des lignes (NDJSON).
+ * Les lignes sont lues par un curseur JDBC en avant seulement (taille de fetch fixe)
+ * et écrites une à une sur le flux : la mémoire utilisée ne dépend pas du nombre de recettes.
+ */
+@Service
+public class RecipeExportService {
+
+    private static final String EXPORT_SQL =
+        "SELECT r.id, r.title, r.ingredients, r.instructions, r.keywords, r.created_at, r.comment_count, " +
+        "u.id AS author_id, u.username AS author_username " +
+        "FROM recipes r LEFT JOIN users u ON u.id = r.author_id ORDER BY r.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final RecipeIngredientIndex ingredientIndex;
+    private final int fetchSize;
+
+    public RecipeExportService(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               RecipeIngredientIndex ingredientIndex,
+                               @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.ingredientIndex = ingredientIndex;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Écrire toutes les recettes sur le flux, une par ligne ; retourne le nombre de recettes exportées
+     */
+    public long exportRecipes(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Aucun séparateur entre les objets racine : le saut de ligne est écrit explicitement
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+
+            // Transaction en lecture seule : certains pilotes (PostgreSQL) n'utilisent le curseur qu'hors autocommit
+            Long exported = readOnlyTransaction.execute(status -> {
+                long[] count = {0};
+                boolean h2 = isH2();
+                if (h2) {
+                    // H2 matérialise tout le résultat avant la première ligne sauf en exécution paresseuse
+                    jdbcTemplate.execute("SET LAZY_QUERY_EXECUTION TRUE");
+                }
+                try {
+                    jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement.setFetchSize(fetchSize);
+                        return statement;
+                    }, resultSet -> {
+                        writeRecipe(generator, resultSet);
+                        count[0]++;
+                    });
+                } finally {
+                    if (h2) {
+                        jdbcTemplate.execute("SET LAZY_QUERY_EXECUTION FALSE");
+                    }
+                }
+                return count[0];
+            });
+            generator.flush();
+            return exported != null ? exported : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private boolean isH2() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getMetaData().getDatabaseProductName());
+        return "H2".equals(product);
+    }
+
+    private void writeRecipe(JsonGenerator generator, ResultSet row) throws SQLException {
+        try {
+            long id = row.getLong("id");
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("title", row.getString("title"));
+            generator.writeStringField("ingredients", row.getString("ingredients"));
+            generator.writeStringField("instructions", row.getString("instructions"));
+            generator.writeStringField("keywords", row.getString("keywords"));
+            Timestamp createdAt = row.getTimestamp("created_at");
+            generator.writeStringField("createdAt", createdAt != null ? createdAt.toLocalDateTime().toString() : null);
+            generator.writeNumberField("commentsCount", row.getLong("comment_count"));
+
+            long authorId = row.getLong("author_id");
+            if (row.wasNull()) {
+                generator.writeNullField("author");
+            } else {
+                generator.writeObjectFieldStart("author");
+                generator.writeNumberField("id", authorId);
+                generator.writeStringField("username", row.getString("author_username"));
+                generator.writeEndObject();
+            }
+
+            // Ingrédients canoniques lus dans l'index mémoire plutôt que par une jointure qui multiplierait les lignes
+            generator.writeArrayFieldStart("ingredientItems");
+            for (int ingredientId : ingredientIndex.ingredientsOf(Math.toIntExact(id))) {
+                generator.writeString(ingredientIndex.ingredientName(ingredientId));
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            // Client déconnecté : interrompre le parcours du curseur
+            throw new UncheckedIOException(e);
+        }
+    }
+}
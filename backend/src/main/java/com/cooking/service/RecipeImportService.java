@@ -0,0 +1,186 @@
+package com.cooking.service;
+
+import com.cooking.dto.RecipeImportReport;
+import com.cooking.dto.RecipeRequest;
+import com.cooking.entity.Ingredient;
+import com.cooking.entity.Recipe;
+import com.cooking.entity.User;
+import com.cooking.event.RecipeChangedEvent;
+import com.cooking.exception.ResourceNotFoundException;
+import com.cooking.importer.ImportRecord;
+import com.cooking.importer.RecipeImportReader;
+import com.cooking.repository.UserRepository;
+import com.cooking.search.IngredientParser;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse de recettes (catalogue d'un partenaire).
+ * Le flux est lu enregistrement par enregistrement ; les recettes valides sont insérées par lots,
+ * une transaction et un lot JDBC par lot (ids tirés de la séquence par blocs, INSERT regroupés).
+ * Les index de recherche sont mis à jour par les événements habituels, après chaque commit.
+ */
+@Service
+public class RecipeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeImportService.class);
+
+    private static final int MAX_MESSAGE_LENGTH = 300;
+
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final IngredientService ingredientService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public RecipeImportService(EntityManager entityManager,
+                               UserRepository userRepository,
+                               IngredientService ingredientService,
+                               ApplicationEventPublisher eventPublisher,
+                               Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.import.batch-size:500}") int batchSize,
+                               @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.entityManager = entityManager;
+        this.userRepository = userRepository;
+        this.ingredientService = ingredientService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Importer toutes les recettes du flux pour l'auteur donné.
+     * Une ligne invalide est rapportée sans interrompre l'import ; les lots déjà insérés restent en base.
+     */
+    public RecipeImportReport importRecipes(RecipeImportReader reader, Long authorId) throws IOException {
+        if (!userRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("User", "id", authorId);
+        }
+
+        long start = System.currentTimeMillis();
+        RecipeImportReport report = new RecipeImportReport(maxReportedErrors);
+        List<ImportRecord> batch = new ArrayList<>(batchSize);
+
+        ImportRecord record;
+        while ((record = reader.next()) != null) {
+            String error = record.isValid() ? validate(record.getRequest()) : record.getError();
+            if (error != null) {
+                report.addError(record.getLine(), error);
+                continue;
+            }
+            batch.add(record);
+            if (batch.size() == batchSize) {
+                insertBatch(batch, authorId, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, authorId, report);
+        }
+
+        report.setDurationMs(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private String validate(RecipeRequest request) {
+        Set<ConstraintViolation<RecipeRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private void insertBatch(List<ImportRecord> batch, Long authorId, RecipeImportReport report) {
+        try {
+            transaction.executeWithoutResult(status -> persist(batch, authorId));
+            report.addImported(batch.size());
+        } catch (RuntimeException e) {
+            // Lot refusé par la base (colonne trop longue...) : rejouer ligne par ligne pour isoler les fautives
+            logger.warn("Lot d'import refusé (lignes {} à {}), nouvel essai recette par recette : {}",
+                batch.get(0).getLine(), batch.get(batch.size() - 1).getLine(), messageOf(e));
+            for (ImportRecord record : batch) {
+                try {
+                    transaction.executeWithoutResult(status -> persist(List.of(record), authorId));
+                    report.addImported(1);
+                } catch (RuntimeException single) {
+                    report.addError(record.getLine(), messageOf(single));
+                }
+            }
+        }
+    }
+
+    private void persist(List<ImportRecord> batch, Long authorId) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        // Des milliers de recettes que personne n'a encore lues : pas de remplissage du cache de second niveau
+        session.setCacheMode(CacheMode.IGNORE);
+        User author = entityManager.getReference(User.class, authorId);
+
+        // Une seule résolution des ingrédients pour tout le lot
+        List<Set<String>> namesPerRecipe = new ArrayList<>(batch.size());
+        Set<String> allNames = new HashSet<>();
+        for (ImportRecord record : batch) {
+            Set<String> names = IngredientParser.parse(record.getRequest().getIngredients());
+            namesPerRecipe.add(names);
+            allNames.addAll(names);
+        }
+        Map<String, Ingredient> ingredients = ingredientService.resolveNames(allNames);
+
+        List<Recipe> recipes = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            RecipeRequest request = batch.get(i).getRequest();
+            Recipe recipe = new Recipe(request.getTitle(), request.getIngredients(),
+                request.getInstructions(), request.getKeywords(), author);
+            Set<Ingredient> items = new HashSet<>();
+            for (String name : namesPerRecipe.get(i)) {
+                items.add(ingredients.get(name));
+            }
+            recipe.setIngredientItems(items);
+            entityManager.persist(recipe);
+            recipes.add(recipe);
+        }
+        entityManager.flush();
+
+        for (Recipe recipe : recipes) {
+            eventPublisher.publishEvent(RecipeChangedEvent.created(recipe));
+        }
+        // Le contexte de persistance ne grossit pas d'un lot à l'autre
+        entityManager.clear();
+    }
+
+    private static String messageOf(Exception e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        if (message == null) {
+            message = e.getClass().getSimpleName();
+        }
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) + "…" : message;
+    }
+}
@@ -1,23 +1,40 @@
 package com.cooking.service;
 
+import com.cooking.dto.PantryMatchResponse;
+import com.cooking.dto.RecipeCursor;
 import com.cooking.dto.RecipeRequest;
+import com.cooking.dto.RecipeDetailRow;
+import com.cooking.dto.RecipeSummary;
+import com.cooking.dto.RecipeVersion;
 import com.cooking.entity.Recipe;
 import com.cooking.entity.User;
+import com.cooking.event.RecipeChangedEvent;
 import com.cooking.exception.ResourceNotFoundException;
 import com.cooking.repository.RecipeRepository;
 import com.cooking.repository.UserRepository;
+import com.cooking.search.PantryMatch;
+import com.cooking.search.RecipeIngredientIndex;
+import com.cooking.search.RecipeSearchIndex;
+import com.cooking.search.SearchResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -29,6 +46,18 @@ public class RecipeService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private RecipeSearchIndex searchIndex;
+    
+    @Autowired
+    private RecipeIngredientIndex ingredientIndex;
+    
+    @Autowired
+    private IngredientService ingredientService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Méthodes CRUD
     
     @Transactional(readOnly = true)
@@ -49,12 +78,69 @@ public class RecipeService {
         return recipeRepository.findAll(pageable);
     }
     
+    /**
+     * Page de cartes de recettes (une seule requête, nombre de commentaires agrégé)
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeSummary> getRecipeSummariesSorted(int page, int size, String sortBy, String sortDirection) {
+        Sort sort = sortDirection.equalsIgnoreCase("desc") ? 
+            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return recipeRepository.findSummaries(PageRequest.of(page, size, sort));
+    }
+    
+    /**
+     * Page de recettes réduites aux champs demandés (?fields=), lus seuls en base
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getRecipeFieldsSorted(String fields, int page, int size, String sortBy, String sortDirection) {
+        Sort sort = sortDirection.equalsIgnoreCase("desc") ? 
+            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return recipeRepository.findFields(fields, PageRequest.of(page, size, sort));
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<String, Object> getRecipeFieldsById(Long id, String fields) {
+        return recipeRepository.findFieldsById(id, fields)
+            .orElseThrow(() -> new ResourceNotFoundException("Recipe", "id", id));
+    }
+    
+    /**
+     * Page suivant le curseur (null pour la première), recettes les plus récentes d'abord.
+     * authorId null = toutes les recettes. Une ligne de plus est lue pour savoir s'il reste une suite.
+     */
+    @Transactional(readOnly = true)
+    public Slice<RecipeSummary> getRecipeSummariesAfter(Long authorId, RecipeCursor cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<RecipeSummary> rows;
+        if (authorId == null) {
+            rows = cursor == null
+                ? recipeRepository.findSummariesFirst(limit)
+                : recipeRepository.findSummariesAfter(cursor.getCreatedAt(), cursor.getId(), limit);
+        } else {
+            rows = cursor == null
+                ? recipeRepository.findSummariesByAuthorIdFirst(authorId, limit)
+                : recipeRepository.findSummariesByAuthorIdAfter(authorId, cursor.getCreatedAt(), cursor.getId(), limit);
+        }
+        boolean hasNext = rows.size() > size;
+        List<RecipeSummary> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(new ArrayList<>(content), PageRequest.of(0, size), hasNext);
+    }
+    
     @Transactional(readOnly = true)
     public Recipe getRecipeById(Long id) {
         return recipeRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Recipe", "id", id));
     }
     
+    /**
+     * Versions courantes de la recette (lecture par clé primaire seule), base de son ETag
+     */
+    @Transactional(readOnly = true)
+    public RecipeVersion getRecipeVersion(Long id) {
+        return recipeRepository.findVersionById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Recipe", "id", id));
+    }
+    
     @Transactional(readOnly = true)
     public Recipe getRecipeByIdWithComments(Long id) {
         Recipe recipe = recipeRepository.findByIdWithComments(id);
@@ -75,8 +161,11 @@ public class RecipeService {
             recipeRequest.getKeywords(),
             author
         );
+        recipe.setIngredientItems(ingredientService.resolve(recipeRequest.getIngredients()));
         
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.created(saved));
+        return saved;
     }
     
     public Recipe createRecipe(RecipeRequest recipeRequest, User author) {
@@ -87,8 +176,11 @@ public class RecipeService {
             recipeRequest.getKeywords(),
             author
         );
+        recipe.setIngredientItems(ingredientService.resolve(recipeRequest.getIngredients()));
         
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.created(saved));
+        return saved;
     }
     
     public Recipe updateRecipe(Long recipeId, RecipeRequest recipeRequest, Long userId) {
@@ -103,8 +195,11 @@ public class RecipeService {
         recipe.setIngredients(recipeRequest.getIngredients());
         recipe.setInstructions(recipeRequest.getInstructions());
         recipe.setKeywords(recipeRequest.getKeywords());
+        recipe.setIngredientItems(ingredientService.resolve(recipeRequest.getIngredients()));
         
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(saved));
+        return saved;
     }
     
     public boolean deleteRecipe(Long recipeId, Long userId) {
@@ -118,6 +213,7 @@ public class RecipeService {
             }
             
             recipeRepository.delete(recipe);
+            eventPublisher.publishEvent(RecipeChangedEvent.deleted(recipeId));
             return true;
         } catch (ResourceNotFoundException e) {
             return false;
@@ -128,6 +224,7 @@ public class RecipeService {
         try {
             Recipe recipe = getRecipeById(recipeId);
             recipeRepository.delete(recipe);
+            eventPublisher.publishEvent(RecipeChangedEvent.deleted(recipeId));
             return true;
         } catch (ResourceNotFoundException e) {
             return false;
@@ -151,20 +248,76 @@ public class RecipeService {
         return recipeRepository.findByAuthorId(authorId);
     }
     
+    @Transactional(readOnly = true)
+    public Page<RecipeSummary> getRecipeSummariesByAuthor(Long authorId, Pageable pageable) {
+        return recipeRepository.findSummariesByAuthorId(authorId, pageable);
+    }
+    
     @Transactional(readOnly = true)
     public List<Recipe> searchRecipes(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllRecipes();
         }
-        return recipeRepository.searchRecipes(searchTerm.trim());
+        SearchResult result = searchIndex.search(searchTerm, Integer.MAX_VALUE);
+        return loadInOrder(toRecipeIds(result.getRecipeIds(), 0, Integer.MAX_VALUE));
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<RecipeSummary> searchRecipes(String searchTerm, Pageable pageable) {
+        return searchRecipes(searchTerm, pageable, false);
     }
     
     @Transactional(readOnly = true)
-    public Page<Recipe> searchRecipes(String searchTerm, Pageable pageable) {
+    public Page<RecipeSummary> searchRecipes(String searchTerm, Pageable pageable, boolean fuzzy) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return getAllRecipes(pageable);
+            return recipeRepository.findSummaries(pageable);
         }
-        return recipeRepository.searchRecipes(searchTerm.trim(), pageable);
+        // Seules les (page + 1) * size meilleures correspondances sont classées
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        SearchResult result = fuzzy
+            ? searchIndex.searchFuzzy(searchTerm, limit)
+            : searchIndex.search(searchTerm, limit);
+        List<Long> pageIds = toRecipeIds(result.getRecipeIds(), pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(loadSummariesInOrder(pageIds), pageable, result.getTotalHits());
+    }
+    
+    /**
+     * Recettes contenant tous (matchAll) ou au moins un des ingrédients, les plus récentes d'abord
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeSummary> findRecipesByIngredients(List<String> ingredients, boolean matchAll, Pageable pageable) {
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        SearchResult result = ingredientIndex.search(ingredients, matchAll, limit);
+        List<Long> pageIds = toRecipeIds(result.getRecipeIds(), pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(loadSummariesInOrder(pageIds), pageable, result.getTotalHits());
+    }
+    
+    /**
+     * Recettes classées par part de leurs ingrédients présents dans le garde-manger
+     */
+    @Transactional(readOnly = true)
+    public List<PantryMatchResponse> findRecipesByPantry(List<String> pantry, int limit) {
+        List<PantryMatch> matches = ingredientIndex.rankByPantry(pantry, limit);
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (PantryMatch match : matches) {
+            ids.add((long) match.getRecipeId());
+        }
+        Map<Long, RecipeSummary> byId = recipeRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(RecipeSummary::getId, Function.identity()));
+        
+        List<PantryMatchResponse> responses = new ArrayList<>(matches.size());
+        for (PantryMatch match : matches) {
+            RecipeSummary recipe = byId.get((long) match.getRecipeId());
+            if (recipe == null) {
+                continue;
+            }
+            List<String> missing = new ArrayList<>();
+            for (int ingredientId : match.getMissingIngredientIds()) {
+                missing.add(ingredientIndex.ingredientName(ingredientId));
+            }
+            responses.add(new PantryMatchResponse(recipe, match, missing));
+        }
+        return responses;
     }
     
     @Transactional(readOnly = true)
@@ -190,6 +343,11 @@ public class RecipeService {
         return recipeRepository.findTop10ByOrderByCreatedAtDesc();
     }
     
+    @Transactional(readOnly = true)
+    public List<RecipeSummary> getRecentRecipeSummaries() {
+        return recipeRepository.findRecentSummaries(PageRequest.of(0, 10));
+    }
+    
     @Transactional(readOnly = true)
     public Page<Recipe> getRecentRecipes(Pageable pageable) {
         return recipeRepository.findAllByOrderByCreatedAtDesc(pageable);
@@ -216,6 +374,58 @@ public class RecipeService {
         return recipeRepository.countByAuthorId(authorId);
     }
     
+    // Chargement des entités d'une page de résultats d'index
+    
+    private List<Long> toRecipeIds(int[] matches, long offset, int limit) {
+        int from = (int) Math.min(offset, matches.length);
+        int to = (int) Math.min((long) from + limit, matches.length);
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add((long) matches[i]);
+        }
+        return ids;
+    }
+    
+    private List<Recipe> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Recipe> byId = recipeRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        List<Recipe> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Recipe recipe = byId.get(id);
+            if (recipe != null) {
+                ordered.add(recipe);
+            }
+        }
+        return ordered;
+    }
+    
+    private List<RecipeSummary> loadSummariesInOrder(List<Long> ids) {
+        return inOrder(ids, ids.isEmpty() ? List.of() : recipeRepository.findSummariesByIdIn(ids), RecipeSummary::getId);
+    }
+    
+    /**
+     * Recettes complètes (ingrédients et instructions) dans l'ordre des identifiants donnés
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeDetailRow> getRecipeDetails(List<Long> ids) {
+        return inOrder(ids, ids.isEmpty() ? List.of() : recipeRepository.findDetailsByIdIn(ids), RecipeDetailRow::getId);
+    }
+    
+    private static <T> List<T> inOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+    
     // Statistiques
     
     @Transactional(readOnly = true)
@@ -1,11 +1,19 @@
 package com.cooking.service;
 
+import com.cooking.entity.Comment;
+import com.cooking.entity.Recipe;
 import com.cooking.entity.User;
+import com.cooking.event.CatalogChangedEvent;
+import com.cooking.event.RecipeChangedEvent;
 import com.cooking.exception.ResourceNotFoundException;
+import com.cooking.repository.RecipeRepository;
 import com.cooking.repository.UserRepository;
+import com.cooking.security.PrincipalCache;
 import com.cooking.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,17 +24,27 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Objects;
 
 @Service
 @Transactional
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private RecipeRepository recipeRepository;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Implémentation UserDetailsService pour Spring Security
     @Override
     @Transactional(readOnly = true)
@@ -37,6 +55,17 @@ public class UserService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
     
+    // Ré-encodage transparent après une connexion réussie (algorithme ou coût BCrypt obsolète)
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+        user.setPassword(newEncodedPassword);
+        User saved = userRepository.save(user);
+        principalCache.evict(saved.getId());
+        return UserPrincipal.create(saved);
+    }
+    
     // Charger par ID (pour JWT)
     @Transactional(readOnly = true)
     public UserDetails loadUserById(Long id) {
@@ -52,6 +81,12 @@ public class UserService implements UserDetailsService {
         return userRepository.findAll();
     }
     
+    // Utilisateurs réduits aux champs demandés (?fields=), lus seuls en base
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllUsersFields(String fields) {
+        return userRepository.findAllFields(fields);
+    }
+    
     @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id).orElse(null); // Modifié pour retourner null au lieu d'exception
@@ -109,7 +144,9 @@ public class UserService implements UserDetailsService {
         user.setEnabled(true); // Actif par défaut
         user.setEmailVerified(true); // Vérifié par défaut pour les comptes admin
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(CatalogChangedEvent.users());
+        return saved;
     }
     
     /**
@@ -127,6 +164,7 @@ public class UserService implements UserDetailsService {
                 throw new IllegalArgumentException("Un utilisateur avec ce nom existe déjà");
             }
             user.setUsername(username);
+            authorRenamed(userId);
         }
         
         if (email != null && !email.equals(user.getEmail())) {
@@ -144,6 +182,7 @@ public class UserService implements UserDetailsService {
             user.setRole(role);
         }
         
+        principalCache.evict(userId);
         return userRepository.save(user);
     }
     
@@ -157,6 +196,7 @@ public class UserService implements UserDetailsService {
         }
         
         user.setEnabled(isActive);
+        principalCache.evict(userId);
         return userRepository.save(user);
     }
     
@@ -180,7 +220,9 @@ public class UserService implements UserDetailsService {
             user.setRole(User.Role.USER);
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(CatalogChangedEvent.users());
+        return saved;
     }
     
     public User updateUser(Long id, User userDetails) {
@@ -198,6 +240,12 @@ public class UserService implements UserDetailsService {
             throw new IllegalArgumentException("Email already exists: " + userDetails.getEmail());
         }
         
+        if (!Objects.equals(user.getUsername(), userDetails.getUsername())
+                || !Objects.equals(user.getFirstName(), userDetails.getFirstName())
+                || !Objects.equals(user.getLastName(), userDetails.getLastName())) {
+            authorRenamed(id);
+        }
+
         // Mettre à jour les champs
         user.setUsername(userDetails.getUsername());
         user.setEmail(userDetails.getEmail());
@@ -209,6 +257,7 @@ public class UserService implements UserDetailsService {
             user.setRole(userDetails.getRole());
         }
         
+        principalCache.evict(id);
         return userRepository.save(user);
     }
     
@@ -218,13 +267,32 @@ public class UserService implements UserDetailsService {
             if (user == null) {
                 return false;
             }
+            // Les recettes de l'utilisateur sont supprimées en cascade
+            for (Recipe recipe : user.getRecipes()) {
+                eventPublisher.publishEvent(RecipeChangedEvent.deleted(recipe.getId()));
+            }
+            // Ses commentaires sur les recettes des autres aussi : mettre leurs compteurs à jour
+            for (Comment comment : user.getComments()) {
+                if (!comment.getRecipe().getAuthor().getId().equals(id)) {
+                    recipeRepository.decrementCommentCount(comment.getRecipe().getId());
+                    eventPublisher.publishEvent(CatalogChangedEvent.comment(comment.getRecipe().getId()));
+                }
+            }
+            eventPublisher.publishEvent(CatalogChangedEvent.users());
             userRepository.delete(user);
+            principalCache.evict(id);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
     
+    // Le nom de l'auteur s'affiche avec ses recettes : nouvelles versions (ETag) et listes invalidées
+    private void authorRenamed(Long userId) {
+        recipeRepository.bumpRepresentationVersionByAuthorId(userId);
+        eventPublisher.publishEvent(CatalogChangedEvent.author(userId));
+    }
+    
     public User changePassword(Long userId, String currentPassword, String newPassword) {
         User user = getUserByIdOrThrow(userId);
         
@@ -235,18 +303,21 @@ public class UserService implements UserDetailsService {
         
         // Encoder et sauvegarder le nouveau mot de passe
         user.setPassword(passwordEncoder.encode(newPassword));
+        principalCache.evict(userId);
         return userRepository.save(user);
     }
     
     public User enableUser(Long userId) {
         User user = getUserByIdOrThrow(userId);
         user.setEnabled(true);
+        principalCache.evict(userId);
         return userRepository.save(user);
     }
     
     public User disableUser(Long userId) {
         User user = getUserByIdOrThrow(userId);
         user.setEnabled(false);
+        principalCache.evict(userId);
         return userRepository.save(user);
     }
     
@@ -258,6 +329,7 @@ public class UserService implements UserDetailsService {
         user.setVerificationToken(null); // Supprimer le token après vérification
         user.setEnabled(true);
         
+        principalCache.evict(user.getId());
         return userRepository.save(user);
     }
     
@@ -278,6 +350,7 @@ public class UserService implements UserDetailsService {
             return null;
         }
         user.setRole(newRole);
+        principalCache.evict(userId);
         return userRepository.save(user);
     }
     
@@ -290,22 +363,28 @@ public class UserService implements UserDetailsService {
             throw new IllegalArgumentException("Email already exists: " + email);
         }
         
+        if (!Objects.equals(user.getFirstName(), firstName) || !Objects.equals(user.getLastName(), lastName)) {
+            authorRenamed(userId);
+        }
         user.setFirstName(firstName);
         user.setLastName(lastName);
         user.setEmail(email);
         
+        principalCache.evict(userId);
         return userRepository.save(user);
     }
     
     public User lockUser(Long userId) {
         User user = getUserByIdOrThrow(userId);
         user.setAccountNonLocked(false);
+        principalCache.evict(userId);
         return userRepository.save(user);
     }
     
     public User unlockUser(Long userId) {
         User user = getUserByIdOrThrow(userId);
         user.setAccountNonLocked(true);
+        principalCache.evict(userId);
         return userRepository.save(user);
     }
     
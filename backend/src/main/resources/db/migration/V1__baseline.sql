@@ -0,0 +1,62 @@
+-- Schéma de référence (équivalent à ce que générait ddl-auto=create-drop)
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(255) UNIQUE,
+    email VARCHAR(255) UNIQUE,
+    password VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    enabled BOOLEAN,
+    account_non_expired BOOLEAN,
+    account_non_locked BOOLEAN,
+    credentials_non_expired BOOLEAN,
+    email_verified BOOLEAN,
+    verification_token VARCHAR(255),
+    role VARCHAR(255) CHECK (role IN ('USER', 'CHEF', 'ADMIN', 'MODERATOR')),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE recipes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title VARCHAR(255),
+    ingredients TEXT,
+    instructions TEXT,
+    keywords VARCHAR(255),
+    created_at TIMESTAMP(6),
+    author_id BIGINT,
+    comment_count BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_recipes_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+CREATE TABLE comments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    content TEXT,
+    created_at TIMESTAMP(6),
+    recipe_id BIGINT,
+    user_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_comments_recipe FOREIGN KEY (recipe_id) REFERENCES recipes (id),
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE ingredients (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) UNIQUE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE recipe_ingredients (
+    recipe_id BIGINT NOT NULL,
+    ingredient_id BIGINT NOT NULL,
+    PRIMARY KEY (ingredient_id, recipe_id),
+    CONSTRAINT fk_recipe_ingredients_recipe FOREIGN KEY (recipe_id) REFERENCES recipes (id),
+    CONSTRAINT fk_recipe_ingredients_ingredient FOREIGN KEY (ingredient_id) REFERENCES ingredients (id)
+);
+
+CREATE INDEX idx_recipes_comment_count ON recipes (comment_count);
+CREATE INDEX idx_recipes_created_at_id ON recipes (created_at DESC, id DESC);
+CREATE INDEX idx_recipes_author_created_at_id ON recipes (author_id, created_at DESC, id DESC);
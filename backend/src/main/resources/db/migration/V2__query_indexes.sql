@@ -0,0 +1,18 @@
+-- Index secondaires alignés sur les requêtes des repositories
+-- (les colonnes auteur / date des recettes sont déjà couvertes par V1)
+
+-- CommentRepository.findByRecipeId / findByRecipeOrderByCreatedAtDesc / countByRecipeId,
+-- réconciliation des compteurs de commentaires
+CREATE INDEX idx_comments_recipe_created_at ON comments (recipe_id, created_at);
+
+-- CommentRepository.findByUserId / countByUser, suppression d'un utilisateur
+CREATE INDEX idx_comments_user ON comments (user_id);
+
+-- UserRepository.findByVerificationToken
+CREATE INDEX idx_users_verification_token ON users (verification_token);
+
+-- UserRepository.findByRole / countByRole
+CREATE INDEX idx_users_role ON users (role);
+
+-- IngredientRepository.findLinksAfter (parcours par recette), suppression d'une recette
+CREATE INDEX idx_recipe_ingredients_recipe ON recipe_ingredients (recipe_id, ingredient_id);
@@ -0,0 +1,19 @@
+-- File d'attente transactionnelle des emails (outbox), vidée par EmailOutboxDispatcher
+
+CREATE TABLE email_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT NOT NULL,
+    html BOOLEAN NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'SENT', 'DEAD')),
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL,
+    sent_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+-- OutboxEmailRepository.findDue (messages à envoyer) et liste des messages morts
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at, id);
@@ -0,0 +1,21 @@
+-- Campagnes d'email avec point de reprise (dernier id utilisateur traité)
+
+CREATE TABLE email_campaigns (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT NOT NULL,
+    html BOOLEAN NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('DRAFT', 'RUNNING', 'PAUSED', 'COMPLETED', 'CANCELLED')),
+    last_user_id BIGINT NOT NULL,
+    total_recipients BIGINT NOT NULL,
+    sent_count BIGINT NOT NULL,
+    failed_count BIGINT NOT NULL,
+    created_by VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    started_at TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+-- EmailCampaignRepository.findFirstByStatusOrderByIdAsc (reprise des campagnes en cours)
+CREATE INDEX idx_email_campaigns_status ON email_campaigns (status);
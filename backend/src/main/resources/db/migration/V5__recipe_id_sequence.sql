@@ -0,0 +1,9 @@
+-- Identifiants des recettes tirés d'une séquence par blocs de 50 (optimiseur "pooled" d'Hibernate) :
+-- contrairement à IDENTITY, l'id est connu avant l'INSERT et les insertions peuvent partir en lots JDBC
+
+-- Le premier bloc réservé par Hibernate est [valeur - 49, valeur] : il doit commencer après les recettes existantes
+CREATE SEQUENCE recipes_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE recipes_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM recipes);
+
+-- Une seule source d'identifiants
+ALTER TABLE recipes ALTER COLUMN id DROP IDENTITY;
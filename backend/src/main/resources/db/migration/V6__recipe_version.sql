@@ -0,0 +1,3 @@
+-- Version de chaque recette : incrémentée à chaque modification (verrou optimiste)
+-- et à chaque ajout ou suppression de commentaire, elle sert d'ETag fort à GET /api/recipes/{id}
+ALTER TABLE recipes ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,4 @@
+-- Version d'affichage des recettes, distincte du verrou optimiste (colonne version) :
+-- incrémentée par les mises à jour en masse (commentaires, compteurs corrigés, auteur renommé)
+-- qui changent la réponse sans modifier la recette. L'ETag combine les deux colonnes.
+ALTER TABLE recipes ADD COLUMN representation_version BIGINT DEFAULT 0 NOT NULL;
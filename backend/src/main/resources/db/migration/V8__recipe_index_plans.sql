@@ -0,0 +1,11 @@
+-- Corrections relevées par les EXPLAIN de QueryPlanTest
+
+-- RecipeRepository.findMostCommentedRecipes trie (comment_count DESC, id DESC) :
+-- l'index croissant sur comment_count seul ne permettait pas de lire dans l'ordre, H2 parcourait la table
+DROP INDEX idx_recipes_comment_count;
+CREATE INDEX idx_recipes_comment_count_id ON recipes (comment_count DESC, id DESC);
+
+-- Recettes d'un auteur : H2 garde pour fk_recipes_author son propre index sur author_id et le choisit
+-- toujours (même à 50 000 recettes) ; il ne lit un index dans l'ordre que si le tri en reprend la
+-- première colonne. L'index composite n'était donc jamais utilisé et ne coûtait qu'à l'écriture.
+DROP INDEX idx_recipes_author_created_at_id;
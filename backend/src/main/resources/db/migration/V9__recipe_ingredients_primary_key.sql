@@ -0,0 +1,9 @@
+-- Clé primaire de recipe_ingredients dans l'ordre (recipe_id, ingredient_id) :
+-- les ids de recettes viennent d'une séquence, l'import ajoute donc ses liens en fin d'arbre
+-- au lieu de les disperser dans l'index, et le parcours par recette (construction de l'index
+-- des ingrédients) lit directement la clé primaire.
+-- idx_recipe_ingredients_recipe (mêmes colonnes) devient inutile et ne coûtait qu'à l'écriture ;
+-- les deux clés étrangères gardent leurs index à une colonne (H2 ne réutilise pas un index composite).
+ALTER TABLE recipe_ingredients DROP PRIMARY KEY;
+ALTER TABLE recipe_ingredients ADD CONSTRAINT pk_recipe_ingredients PRIMARY KEY (recipe_id, ingredient_id);
+DROP INDEX idx_recipe_ingredients_recipe;
@@ -0,0 +1,160 @@
+package com.cooking.cache;
+
+import com.cooking.entity.Recipe;
+import com.cooking.event.CatalogChangedEvent;
+import com.cooking.event.RecipeChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResponseCacheTest {
+
+    private static final int THREADS = 8;
+
+    private final ResponseCache cache = new ResponseCache(new ObjectMapper(), new SimpleMeterRegistry(),
+        1 << 20, Duration.ofMinutes(10));
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    void concurrentMissesComputeOnce() throws Exception {
+        ResponseCache.Key key = ResponseCache.Key.list("v1 /api/recipes");
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<byte[]>> responses = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                responses.add(pool.submit(() -> {
+                    start.await();
+                    return cache.get(key, () -> {
+                        computations.incrementAndGet();
+                        sleep(200);
+                        return Map.of("recipes", 3);
+                    });
+                }));
+            }
+            for (Future<byte[]> response : responses) {
+                assertThat(new String(response.get(), "UTF-8")).isEqualTo("{\"recipes\":3}");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void slowComputationDoesNotBlockOtherKeys() throws Exception {
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<byte[]> slow = pool.submit(() -> cache.get(ResponseCache.Key.list("lente"), () -> {
+                computing.countDown();
+                await(release);
+                return "lente";
+            }));
+            assertThat(computing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Calculs d'autres clés (et calcul imbriqué) pendant que la première est en cours
+            for (int i = 0; i < 100; i++) {
+                String variant = "autre " + i;
+                assertThat(cache.get(ResponseCache.Key.list(variant),
+                    () -> new String(cache.get(ResponseCache.Key.stats(variant), () -> "imbriquée")))).isNotEmpty();
+            }
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isNotEmpty();
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedComputationIsPropagatedAndNotCached() {
+        ResponseCache.Key key = ResponseCache.Key.recipe(1L, "1.0");
+
+        assertThatThrownBy(() -> cache.get(key, () -> {
+            throw new IllegalStateException("base indisponible");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("base indisponible");
+
+        assertThat(cache.get(key, this::compute)).isNotEmpty();
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void recipeWriteEvictsOnlyThatRecipe() {
+        ResponseCache.Key recipe = ResponseCache.Key.recipe(12L, "3.0");
+        ResponseCache.Key recipeFields = ResponseCache.Key.recipe(12L, "3.0 fields=id,title");
+        ResponseCache.Key other = ResponseCache.Key.recipe(13L, "1.0");
+        ResponseCache.Key list = ResponseCache.Key.list("W/\"e-7\" /api/recipes");
+        for (ResponseCache.Key key : List.of(recipe, recipeFields, other, list)) {
+            cache.get(key, this::compute);
+        }
+
+        cache.onRecipeChanged(RecipeChangedEvent.updated(recipe(12L)));
+
+        // Les deux variantes de la recette 12 sont recalculées, le reste est encore servi
+        for (ResponseCache.Key key : List.of(recipe, recipeFields, other, list)) {
+            cache.get(key, this::compute);
+        }
+        assertThat(computations).hasValue(4 + 2);
+    }
+
+    @Test
+    void commentWriteEvictsOnlyItsRecipe() {
+        ResponseCache.Key commented = ResponseCache.Key.recipe(12L, "3.0");
+        ResponseCache.Key other = ResponseCache.Key.recipe(13L, "1.0");
+        ResponseCache.Key stats = ResponseCache.Key.stats("e-7-2");
+        for (ResponseCache.Key key : List.of(commented, other, stats)) {
+            cache.get(key, this::compute);
+        }
+
+        cache.onCatalogChanged(CatalogChangedEvent.comment(12L));
+        cache.onRecipeChanged(RecipeChangedEvent.deleted(99L));
+
+        for (ResponseCache.Key key : List.of(commented, other, stats)) {
+            cache.get(key, this::compute);
+        }
+        assertThat(computations).hasValue(3 + 1);
+    }
+
+    private Object compute() {
+        return Map.of("computation", computations.incrementAndGet());
+    }
+
+    private static Recipe recipe(Long id) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        return recipe;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.cooking.controller;
+
+import com.cooking.exception.PasswordHashingRejectedException;
+import com.cooking.security.JwtAuthenticationFilter;
+import com.cooking.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tranche MVC seule (contrôleur d'authentification + gestionnaire 503), sans base ni index en mémoire.
+ * Les filtres de sécurité sont désactivés : seul le mapping d'exception est vérifié ici.
+ */
+@WebMvcTest(controllers = AuthController.class,
+    excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthenticationFilter.class))
+@AutoConfigureMockMvc(addFilters = false)
+@Import(ServiceBusyHandler.class)
+class ServiceBusyHandlerTest {
+
+    private static final String LOGIN = "{\"username\":\"chef\",\"password\":\"chef\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthService authService;
+
+    @Test
+    void saturatedHashingPoolAnswers503WithRetryAfter() throws Exception {
+        when(authService.authenticate(anyString(), anyString()))
+            .thenThrow(new PasswordHashingRejectedException(3));
+
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "3"))
+            .andExpect(jsonPath("$.error").value("Service momentanément surchargé"));
+    }
+
+    @Test
+    void badCredentialsStayA400() throws Exception {
+        when(authService.authenticate(anyString(), anyString()))
+            .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().doesNotExist("Retry-After"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.cooking.controller;
+
+import com.cooking.CookingApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charge HTTP sur GET /api/recipes et POST /api/auth/login, threads classiques contre threads virtuels
+ * (spring.threads.virtual.enabled). 256 clients en boucle fermée, au-delà des 200 workers Tomcat par défaut :
+ * débit (requêtes/s) et p99 par mode. Listes lues en base à chaque requête (cache des réponses à 0 octet,
+ * pages tirées au hasard) ; BCrypt au coût 4 pour mesurer le traitement des requêtes et non le hachage.
+ * Sur Java 17 la propriété est sans effet : main() ne mesure alors que les threads classiques.
+ * Épinglage des porteurs : ajouter -Djdk.tracePinnedThreads=short aux jvmArgs du fork.
+ * mvn -Pbenchmarks test -Dbenchmark=com.cooking.controller.VirtualThreadsLoadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(VirtualThreadsLoadBenchmark.CLIENTS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class VirtualThreadsLoadBenchmark {
+
+    static final int CLIENTS = 256;
+    private static final int RECIPES = 2_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI baseUri;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CookingApplication.class).run(
+            "--server.port=0", "--spring.main.banner-mode=off", "--logging.level.root=WARN",
+            "--logging.level.com.cooking=WARN", "--logging.level.org.springframework.security=WARN",
+            "--logging.level.org.hibernate.SQL=WARN", "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "--spring.jpa.show-sql=false",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--app.response-cache.max-bytes=0",
+            "--app.security.password-hashing.cost=4",
+            "--app.security.password-hashing.queue-capacity=" + CLIENTS);
+        seed(context.getBean(JdbcTemplate.class));
+        baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        System.out.printf("🧵 spring.threads.virtual.enabled=%s, threads virtuels actifs : %s (Java %d)%n",
+            virtualThreads, Threading.VIRTUAL.isActive(context.getEnvironment()), Runtime.version().feature());
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO recipes (id, title, ingredients, instructions, keywords, created_at, author_id) " +
+            "SELECT 1000000 + X, 'Recette ' || X, REPEAT('200 g de farine' || CHAR(10), 4), " +
+            "REPEAT('Mélanger puis cuire 20 minutes. ', 10), 'dessert, facile', " +
+            "DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'), " +
+            "(SELECT id FROM users WHERE username = 'chef') " +
+            "FROM SYSTEM_RANGE(1, " + RECIPES + ")");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int recipeList() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(RECIPES / PAGE_SIZE);
+        return send(HttpRequest.newBuilder(baseUri.resolve("/api/recipes?size=" + PAGE_SIZE + "&page=" + page))
+            .GET().build());
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"user\"}"))
+            .build());
+    }
+
+    // Une réponse en erreur (503 du pool BCrypt par exemple) fausserait la mesure : le benchmark s'arrête
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("HTTP " + status + " sur " + request.uri());
+        }
+        return status;
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean virtualAvailable = Runtime.version().feature() >= 21;
+        if (!virtualAvailable) {
+            System.out.printf("⚠️ Java %d : pas de threads virtuels, seul le mode classique est mesuré%n",
+                Runtime.version().feature());
+        }
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(VirtualThreadsLoadBenchmark.class.getName())
+            .param("virtualThreads", virtualAvailable ? new String[]{"false", "true"} : new String[]{"false"})
+            .build()).run();
+        for (RunResult result : results) {
+            String threads = Boolean.parseBoolean(result.getParams().getParam("virtualThreads")) ? "virtuels" : "classiques";
+            if (result.getParams().getMode() == Mode.Throughput) {
+                System.out.printf("🧵 %s, threads %s, %d clients : %.0f requêtes/s%n",
+                    result.getPrimaryResult().getLabel(), threads, CLIENTS, result.getPrimaryResult().getScore());
+            } else {
+                System.out.printf("🧵 %s, threads %s, %d clients : p99 %.1f ms (moyenne %.1f ms)%n",
+                    result.getPrimaryResult().getLabel(), threads, CLIENTS,
+                    result.getPrimaryResult().getStatistics().getPercentile(99) * 1000,
+                    result.getPrimaryResult().getScore() * 1000);
+            }
+        }
+    }
+}
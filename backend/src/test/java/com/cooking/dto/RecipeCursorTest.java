@@ -0,0 +1,37 @@
+package com.cooking.dto;
+
+import com.cooking.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecipeCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+
+        RecipeCursor decoded = RecipeCursor.decode(new RecipeCursor(createdAt, 42L).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void malformedTokensRaiseInvalidCursorException() {
+        for (String token : new String[] { "%%%", token("no-separator"), token("2024-03-01T12:30|x"), token("hier|12") }) {
+            assertThatThrownBy(() -> RecipeCursor.decode(token))
+                .as(token)
+                .isInstanceOf(InvalidCursorException.class);
+        }
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
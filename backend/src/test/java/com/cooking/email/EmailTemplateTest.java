@@ -0,0 +1,38 @@
+package com.cooking.email;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateTest {
+
+    @Test
+    void rendersValuesInTheirSlots() {
+        EmailTemplate template = EmailTemplate.compile("<p>{{ name }} ({{email}}) - {{name}}</p>", "name", "email");
+
+        assertThat(template.render("Camille", "c@example.com")).isEqualTo("<p>Camille (c@example.com) - Camille</p>");
+    }
+
+    @Test
+    void escapesHtmlInValuesButNotInTextTemplates() {
+        String value = "<b>\"Tom\" & 'Jerry'</b>";
+
+        assertThat(EmailTemplate.compile("{{v}}", "v").render(value))
+            .isEqualTo("&lt;b&gt;&quot;Tom&quot; &amp; &#39;Jerry&#39;&lt;/b&gt;");
+        assertThat(EmailTemplate.compileText("{{v}}", "v").render(value)).isEqualTo(value);
+    }
+
+    @Test
+    void nullValuesRenderAsEmpty() {
+        assertThat(EmailTemplate.compile("[{{v}}]", "v").render((String) null)).isEqualTo("[]");
+    }
+
+    @Test
+    void rejectsMalformedTemplatesAndWrongArity() {
+        assertThatThrownBy(() -> EmailTemplate.compile("{{v", "v")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EmailTemplate.compile("{{w}}", "v")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EmailTemplate.compile("{{v}}", "v").render("a", "b"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
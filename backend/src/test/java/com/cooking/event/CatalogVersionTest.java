@@ -0,0 +1,32 @@
+package com.cooking.event;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionTest {
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Test
+    void userChangesMoveTheStatsVersionButNotTheListETag() {
+        String etag = catalogVersion.weakETag();
+        String stats = catalogVersion.statsVersion();
+
+        catalogVersion.onCatalogChanged(CatalogChangedEvent.users());
+
+        assertThat(catalogVersion.weakETag()).isEqualTo(etag);
+        assertThat(catalogVersion.statsVersion()).isNotEqualTo(stats);
+    }
+
+    @Test
+    void recipeChangesMoveBoth() {
+        String etag = catalogVersion.weakETag();
+        String stats = catalogVersion.statsVersion();
+
+        catalogVersion.onCatalogChanged(CatalogChangedEvent.comment(1L));
+
+        assertThat(catalogVersion.weakETag()).isNotEqualTo(etag);
+        assertThat(catalogVersion.statsVersion()).isNotEqualTo(stats);
+    }
+}
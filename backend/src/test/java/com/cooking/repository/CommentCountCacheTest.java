@@ -0,0 +1,88 @@
+package com.cooking.repository;
+
+import com.cooking.config.SecondLevelCacheConfig;
+import com.cooking.dto.RecipeRequest;
+import com.cooking.entity.Comment;
+import com.cooking.entity.Recipe;
+import com.cooking.entity.User;
+import com.cooking.service.CommentService;
+import com.cooking.service.RecipeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Un commentaire ne sort du cache de second niveau que sa recette :
+ * les autres recettes et le count() en cache de requêtes restent servis par le cache.
+ */
+@SpringBootTest
+class CommentCountCacheTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void commentWriteEvictsOnlyItsRecipe() {
+        User chef = userRepository.findByUsername("chef").orElseThrow();
+        User reader = userRepository.findByUsername("user").orElseThrow();
+        Long commented = recipeService.createRecipe(request("Tarte aux pommes"), chef.getId()).getId();
+        Long untouched = recipeService.createRecipe(request("Clafoutis"), chef.getId()).getId();
+        // Chaque findById hors transaction ouvre sa session : lecture depuis le cache de second niveau
+        recipeRepository.findById(commented).orElseThrow();
+        recipeRepository.findById(untouched).orElseThrow();
+        long count = recipeRepository.count();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CacheRegionStatistics recipes = statistics.getCacheRegionStatistics(SecondLevelCacheConfig.RECIPES_REGION);
+        CacheRegionStatistics queries = statistics.getCacheRegionStatistics(SecondLevelCacheConfig.QUERY_RESULTS_REGION);
+
+        Comment comment = commentService.addComment("Très bonne", reader, recipeRepository.findById(commented).orElseThrow());
+
+        long hits = recipes.getHitCount();
+        long misses = recipes.getMissCount();
+        recipeRepository.findById(untouched).orElseThrow();
+        assertThat(recipes.getHitCount()).isEqualTo(hits + 1);
+        assertThat(recipes.getMissCount()).isEqualTo(misses);
+
+        Recipe reloaded = recipeRepository.findById(commented).orElseThrow();
+        assertThat(recipes.getMissCount()).isEqualTo(misses + 1);
+        assertThat(reloaded.getCommentCount()).isEqualTo(1);
+
+        long queryHits = queries.getHitCount();
+        assertThat(recipeRepository.count()).isEqualTo(count);
+        assertThat(queries.getHitCount()).isEqualTo(queryHits + 1);
+
+        // La suppression ne sort elle aussi que la recette commentée
+        commentService.deleteComment(comment.getId(), reader.getId(), false);
+        misses = recipes.getMissCount();
+        recipeRepository.findById(untouched).orElseThrow();
+        assertThat(recipes.getMissCount()).isEqualTo(misses);
+        assertThat(recipeRepository.findById(commented).orElseThrow().getCommentCount()).isZero();
+        assertThat(recipes.getMissCount()).isEqualTo(misses + 1);
+    }
+
+    private static RecipeRequest request(String title) {
+        RecipeRequest request = new RecipeRequest();
+        request.setTitle(title);
+        request.setIngredients("farine, oeufs, sucre");
+        return request;
+    }
+}
@@ -0,0 +1,128 @@
+package com.cooking.repository;
+
+import com.cooking.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans d'exécution H2 (EXPLAIN) des requêtes chaudes des repositories :
+ * le SQL réellement généré par Hibernate est capturé puis expliqué, aucune ne doit parcourir sa table
+ */
+@SpringBootTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.cooking.repository.QueryPlanTest$CapturedSql")
+class QueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final PageRequest FIRST_20 = PageRequest.of(0, 20);
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void recipeListsReadTheCreatedAtIndexInOrder() {
+        assertIndexSorted(plan(() -> recipeRepository.findSummariesFirst(FIRST_20)), "IDX_RECIPES_CREATED_AT_ID");
+        assertIndexSorted(plan(() -> recipeRepository.findSummariesAfter(NOW, 10L, FIRST_20)), "IDX_RECIPES_CREATED_AT_ID");
+        assertIndexSorted(plan(() -> recipeRepository.findTop10ByOrderByCreatedAtDesc()), "IDX_RECIPES_CREATED_AT_ID");
+        assertIndexSorted(plan(() -> recipeRepository.findMostCommentedRecipes(FIRST_20)), "IDX_RECIPES_COMMENT_COUNT_ID");
+    }
+
+    @Test
+    void authorQueriesSeekTheAuthorIndex() {
+        assertSeeks(plan(() -> recipeRepository.findSummariesByAuthorIdFirst(1L, FIRST_20)), "AUTHOR_ID = ?");
+        assertSeeks(plan(() -> recipeRepository.findSummariesByAuthorIdAfter(1L, NOW, 10L, FIRST_20)), "AUTHOR_ID = ?");
+        assertSeeks(plan(() -> recipeRepository.countByAuthorId(1L)), "AUTHOR_ID = ?");
+    }
+
+    @Test
+    void commentQueriesSeekTheirForeignKeyIndexes() {
+        assertSeeks(plan(() -> commentRepository.findByRecipeId(1L)), "RECIPE_ID = ?");
+        assertSeeks(plan(() -> commentRepository.countByRecipeId(1L)), "RECIPE_ID = ?");
+        assertSeeks(plan(() -> commentRepository.findByUserId(1L)), "USER_ID = ?");
+    }
+
+    @Test
+    void userLookupsSeekAnIndex() {
+        assertSeeks(plan(() -> userRepository.findByUsername("chef")), "USERNAME = ?");
+        assertSeeks(plan(() -> userRepository.findByEmail("chef@example.com")), "EMAIL = ?");
+        assertSeeks(plan(() -> userRepository.findByVerificationToken("token")), "VERIFICATION_TOKEN = ?");
+        assertSeeks(plan(() -> userRepository.findByRole(User.Role.CHEF)), "ROLE = ?");
+    }
+
+    @Test
+    void ingredientLinksReadAPrimaryKeyRange() {
+        String links = plan(() -> ingredientRepository.findLinksBetween(0L, 5000L));
+        assertSeeks(links, "RECIPE_ID > ?");
+        assertSeeks(links, "RECIPE_ID <= ?");
+        assertIndexSorted(links, "PRIMARY_KEY");
+    }
+
+    // Plan H2 de la première requête SQL émise par l'appel (paramètres non liés : plan générique)
+    private String plan(Runnable call) {
+        CapturedSql.STATEMENTS.clear();
+        CapturedSql.thread = Thread.currentThread();
+        try {
+            call.run();
+        } finally {
+            CapturedSql.thread = null;
+        }
+        assertThat(CapturedSql.STATEMENTS).as("SQL émis").isNotEmpty();
+        String sql = CapturedSql.STATEMENTS.get(0);
+        String plan = jdbcTemplate.query("EXPLAIN " + sql,
+            statement -> {
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setObject(i, null);
+                }
+            },
+            rows -> rows.next() ? rows.getString(1) : null);
+        assertThat(plan).as(sql).isNotNull().doesNotContainIgnoringCase("tableScan");
+        return plan;
+    }
+
+    private static void assertIndexSorted(String plan, String index) {
+        assertThat(plan).containsIgnoringCase(index).contains("index sorted");
+    }
+
+    private static void assertSeeks(String plan, String condition) {
+        assertThat(plan).containsIgnoringCase(condition);
+    }
+
+    /**
+     * Capture du SQL envoyé par Hibernate (instancié par Hibernate, d'où l'état statique).
+     * Seul le thread du test est écouté : les tâches planifiées interrogent la base en parallèle.
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+        static volatile Thread thread;
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == thread) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.cooking.repository;
+
+import com.cooking.CookingApplication;
+import com.cooking.dto.RecipeResponse;
+import com.cooking.dto.RecipeSummary;
+import com.cooking.dto.UserSummary;
+import com.cooking.service.RecipeService;
+import com.cooking.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ?fields= contre les lectures complètes : fil de recettes (page de 50, vue full) et table admin des utilisateurs.
+ * Variantes *Db = lecture seule (temps base + mapping), variantes *Json = lecture + sérialisation ;
+ * la taille des réponses JSON est affichée au démarrage.
+ * mvn -Pbenchmarks test -Dbenchmark=com.cooking.repository.SparseFieldsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparseFieldsBenchmark {
+
+    private static final int RECIPES = 5_000;
+    private static final int USERS = 1_000;
+    private static final int PAGE_SIZE = 50;
+
+    // Ce que lisent le fil mobile et la table admin
+    private static final String RECIPE_FIELDS = "id,title,author.username";
+    private static final String USER_FIELDS = "id,username,email";
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private UserService userService;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        context = new SpringApplicationBuilder(CookingApplication.class)
+            .run("--server.port=0", "--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        recipeService = context.getBean(RecipeService.class);
+        userService = context.getBean(UserService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+
+        System.out.printf("📦 Recettes (page de %d) : complètes %d o, fields=%s %d o%n", PAGE_SIZE,
+            recipesFullJson().length, RECIPE_FIELDS, recipesSparseJson().length);
+        System.out.printf("📦 Utilisateurs (%d) : complets %d o, fields=%s %d o%n", USERS + 3,
+            usersFullJson().length, USER_FIELDS, usersSparseJson().length);
+    }
+
+    // Recettes aux textes longs (instructions surtout), auteurs répartis sur les utilisateurs créés
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (username, email, password, first_name, last_name, enabled, " +
+            "account_non_expired, account_non_locked, credentials_non_expired, email_verified, role, created_at) " +
+            "SELECT 'bench' || X, 'bench' || X || '@example.com', REPEAT('x', 60), 'Prénom' || X, 'Nom' || X, " +
+            "TRUE, TRUE, TRUE, TRUE, TRUE, 'USER', DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00') " +
+            "FROM SYSTEM_RANGE(1, " + USERS + ")");
+        jdbc.update("INSERT INTO recipes (id, title, ingredients, instructions, keywords, created_at, author_id) " +
+            "SELECT 1000000 + X, 'Recette ' || X, REPEAT('200 g de farine' || CHAR(10), 8), " +
+            "REPEAT('Mélanger puis cuire 20 minutes. ', 30), 'dessert, facile', " +
+            "DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'), " +
+            "(SELECT MIN(id) FROM users WHERE username LIKE 'bench%') + MOD(X, " + USERS + ") " +
+            "FROM SYSTEM_RANGE(1, " + RECIPES + ")");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Page complète telle que GET /api/recipes?view=full : cartes puis recettes détaillées
+    @Benchmark
+    public List<RecipeResponse> recipesFullDb() {
+        List<Long> ids = recipeService.getRecipeSummariesSorted(0, PAGE_SIZE, "createdAt", "desc").getContent()
+            .stream().map(RecipeSummary::getId).toList();
+        return recipeService.getRecipeDetails(ids).stream().map(RecipeResponse::new).toList();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> recipesSparseDb() {
+        return recipeService.getRecipeFieldsSorted(RECIPE_FIELDS, 0, PAGE_SIZE, "createdAt", "desc").getContent();
+    }
+
+    @Benchmark
+    public byte[] recipesFullJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(recipesFullDb());
+    }
+
+    @Benchmark
+    public byte[] recipesSparseJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(recipesSparseDb());
+    }
+
+    // Liste admin sans fields : entités puis UserSummary dans la transaction de la requête (open-in-view)
+    @Benchmark
+    public List<UserSummary> usersFullDb() {
+        return readOnly.execute(status -> userService.getAllUsers().stream().map(UserSummary::new).toList());
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> usersSparseDb() {
+        return userService.getAllUsersFields(USER_FIELDS);
+    }
+
+    @Benchmark
+    public byte[] usersFullJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(usersFullDb());
+    }
+
+    @Benchmark
+    public byte[] usersSparseJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(usersSparseDb());
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(SparseFieldsBenchmark.class.getName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.cooking.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche approchée sur 500 000 recettes : titres de 4 mots et 3 mots-clés tirés d'un vocabulaire
+ * de 50 000 termes (mots de cuisine courants puis mots synthétiques, popularité en loi de Zipf).
+ * similarTerms = candidats de l'index de trigrammes seuls, searchFuzzy = requête complète (expansion,
+ * intersection et classement BM25F d'une page de 20). Objectif : moins de 5 ms par requête.
+ * mvn -Pbenchmarks test -Dbenchmark=com.cooking.search.FuzzySearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FuzzySearchBenchmark {
+
+    private static final int RECIPES = 500_000;
+    private static final int VOCABULARY = 50_000;
+    private static final int TITLE_WORDS = 4;
+    private static final int KEYWORDS = 3;
+    private static final int LIMIT = 20;
+    private static final double TARGET_MS = 5;
+
+    private static final String[] COMMON_WORDS = {
+        "tarte", "chocolat", "tomate", "poulet", "gratin", "salade", "soupe", "gateau", "pomme", "fromage",
+        "quiche", "risotto", "poisson", "saumon", "creme", "legumes", "boeuf", "carottes", "courgette", "citron",
+        "ratatouille", "clafoutis", "crepes", "lasagnes", "champignons", "dauphinois", "potiron", "vanille",
+        "framboise", "caramel", "tiramisu", "poireaux", "lardons", "epinards", "aubergine", "basilic"
+    };
+    private static final String[] SYLLABLES = {
+        "ba", "bri", "ca", "cho", "co", "da", "fa", "fro", "ga", "gra", "la", "le", "ma", "mi", "na", "no",
+        "pa", "po", "ra", "ri", "sa", "so", "ta", "to", "tri", "va", "vi", "re", "lu", "que", "ette", "ine"
+    };
+
+    // Fautes de frappe courantes : lettre manquante, lettre en trop, inversion
+    @Param({"chocolt", "tomatoe", "ratatouile", "gratn"})
+    public String word;
+
+    private RecipeTrigramIndex trigramIndex;
+    private RecipeSearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        trigramIndex = new RecipeTrigramIndex(0.4f);
+        searchIndex = new RecipeSearchIndex(null, trigramIndex);
+
+        Random random = new Random(42);
+        Set<String> vocabulary = new LinkedHashSet<>(Arrays.asList(COMMON_WORDS));
+        while (vocabulary.size() < VOCABULARY) {
+            StringBuilder synthetic = new StringBuilder();
+            for (int s = 2 + random.nextInt(3); s > 0; s--) {
+                synthetic.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary.add(synthetic.toString());
+        }
+        String[] words = vocabulary.toArray(new String[0]);
+        double[] popularity = new double[words.length];
+        double sum = 0;
+        for (int i = 0; i < words.length; i++) {
+            sum += 1.0 / (i + 1);
+            popularity[i] = sum;
+        }
+
+        for (long id = 1; id <= RECIPES; id++) {
+            String title = pick(words, popularity, sum, random, TITLE_WORDS);
+            String keywords = pick(words, popularity, sum, random, KEYWORDS);
+            searchIndex.index(id, title, "", keywords);
+        }
+        System.out.printf("🔤 %d recettes, %d termes dans l'index de trigrammes%n",
+            searchIndex.documentCount(), trigramIndex.termCount());
+    }
+
+    private static String pick(String[] words, double[] popularity, double sum, Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int position = Arrays.binarySearch(popularity, random.nextDouble() * sum);
+            text.append(words[position >= 0 ? position : -position - 1]).append(' ');
+        }
+        return text.toString();
+    }
+
+    @Benchmark
+    public Map<String, Float> similarTerms() {
+        return trigramIndex.similarTerms(word);
+    }
+
+    @Benchmark
+    public SearchResult searchFuzzy() {
+        return searchIndex.searchFuzzy(word, LIMIT);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(FuzzySearchBenchmark.class.getName())
+            .build()).run();
+        for (RunResult result : results) {
+            System.out.printf("🔤 %s(\"%s\"), %d recettes : %.3f ms (objectif %.0f ms)%n",
+                result.getPrimaryResult().getLabel(), result.getParams().getParam("word"), RECIPES,
+                result.getPrimaryResult().getScore(), TARGET_MS);
+        }
+    }
+}
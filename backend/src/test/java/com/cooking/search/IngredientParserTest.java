@@ -0,0 +1,42 @@
+package com.cooking.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientParserTest {
+
+    @Test
+    void quantityAndUnitAreDropped() {
+        assertThat(IngredientParser.canonicalName("200 g de chocolats noirs (70%)")).isEqualTo("chocolat noir");
+        assertThat(IngredientParser.canonicalName("2 cuillères à soupe d'huile d'olive")).isEqualTo("huile olive");
+    }
+
+    @Test
+    void unitAttachedToTheNumberIsDropped() {
+        assertThat(IngredientParser.canonicalName("200g de farine")).isEqualTo("farine");
+        assertThat(IngredientParser.canonicalName("50cl de lait")).isEqualTo("lait");
+        assertThat(IngredientParser.canonicalName("1kg de pommes de terre")).isEqualTo("pomme terre");
+        assertThat(IngredientParser.canonicalName("3cs de sucre")).isEqualTo("sucre");
+        assertThat(IngredientParser.canonicalName("2 tranches de jambon")).isEqualTo("jambon");
+    }
+
+    @Test
+    void fractionsAndDecimalsAreDropped() {
+        assertThat(IngredientParser.canonicalName("1/2 citron")).isEqualTo("citron");
+        assertThat(IngredientParser.canonicalName("1/2l de crème")).isEqualTo("creme");
+        assertThat(IngredientParser.canonicalName("1.5 kg de boeuf")).isEqualTo("boeuf");
+    }
+
+    @Test
+    void numbersThatAreNotQuantitiesAreKept() {
+        assertThat(IngredientParser.isQuantity("4epices")).isFalse();
+        assertThat(IngredientParser.canonicalName("mélange 4épices")).isEqualTo("melange 4epice");
+    }
+
+    @Test
+    void parseSplitsLinesAndRemovesDuplicates() {
+        assertThat(IngredientParser.parse("200g de farine\n3 oeufs; 250 g de farine, 50cl de lait"))
+            .containsExactly("farine", "oeuf", "lait");
+    }
+}
@@ -0,0 +1,102 @@
+package com.cooking.search;
+
+import com.cooking.entity.Ingredient;
+import com.cooking.entity.Recipe;
+import com.cooking.event.RecipeChangedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classement par garde-manger sur un million de recettes (8 ingrédients parmi 2 000, popularité en loi de Zipf).
+ * Le garde-manger est fait des ingrédients les plus courants : c'est le pire cas, presque toutes les
+ * recettes sont candidates. Objectif : moins de 20 ms par requête.
+ * mvn -Pbenchmarks test -Dbenchmark=com.cooking.search.PantryRankingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PantryRankingBenchmark {
+
+    private static final int RECIPES = 1_000_000;
+    private static final int INGREDIENTS = 2_000;
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+    private static final int LIMIT = 20;
+    private static final double TARGET_MS = 20;
+
+    @Param({"5", "20"})
+    public int pantrySize;
+
+    private RecipeIngredientIndex index;
+    private List<String> pantry;
+
+    @Setup
+    public void setUp() {
+        index = new RecipeIngredientIndex(null);
+        Ingredient[] ingredients = new Ingredient[INGREDIENTS];
+        double[] popularity = new double[INGREDIENTS];
+        double sum = 0;
+        for (int i = 0; i < INGREDIENTS; i++) {
+            ingredients[i] = new Ingredient("ingredient" + i);
+            ingredients[i].setId((long) i + 1);
+            sum += 1.0 / (i + 1);
+            popularity[i] = sum;
+        }
+
+        Random random = new Random(42);
+        Recipe recipe = new Recipe();
+        for (int id = 1; id <= RECIPES; id++) {
+            Set<Ingredient> items = new HashSet<>();
+            while (items.size() < INGREDIENTS_PER_RECIPE) {
+                int position = Arrays.binarySearch(popularity, random.nextDouble() * sum);
+                items.add(ingredients[position >= 0 ? position : -position - 1]);
+            }
+            recipe.setId((long) id);
+            recipe.setIngredientItems(items);
+            index.onRecipeChanged(RecipeChangedEvent.created(recipe));
+        }
+
+        pantry = new ArrayList<>();
+        for (int i = 0; i < pantrySize; i++) {
+            pantry.add(ingredients[i].getName());
+        }
+    }
+
+    @Benchmark
+    public List<PantryMatch> rankByPantry() {
+        return index.rankByPantry(pantry, LIMIT);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(PantryRankingBenchmark.class.getName())
+            .build()).run();
+        for (RunResult result : results) {
+            System.out.printf("🥫 garde-manger de %s ingrédients, %d recettes : %.2f ms (objectif %.0f ms)%n",
+                result.getParams().getParam("pantrySize"), RECIPES, result.getPrimaryResult().getScore(), TARGET_MS);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.cooking.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void identifiersStaySortedWithTheirFrequencies() {
+        PostingList list = new PostingList();
+        // Plus que la capacité initiale, dans le désordre
+        int[] ids = {40, 10, 30, 70, 20, 60, 50};
+        for (int id : ids) {
+            list.add(id, new int[] {id, id + 1, id + 2});
+        }
+
+        assertThat(list.toArray()).containsExactly(10, 20, 30, 40, 50, 60, 70);
+        for (int i = 0; i < list.size(); i++) {
+            int id = list.get(i);
+            assertThat(list.frequency(i, RecipeField.TITLE)).isEqualTo(id);
+            assertThat(list.frequency(i, RecipeField.KEYWORDS)).isEqualTo(id + 1);
+            assertThat(list.frequency(i, RecipeField.INGREDIENTS)).isEqualTo(id + 2);
+        }
+    }
+
+    @Test
+    void addingAnExistingIdentifierReplacesItsFrequencies() {
+        PostingList list = new PostingList();
+        list.add(1, new int[] {1, 0, 0});
+        list.add(2, new int[] {1, 0, 0});
+        list.add(1, new int[] {0, 0, 4});
+
+        assertThat(list.size()).isEqualTo(2);
+        assertThat(list.frequency(0, RecipeField.TITLE)).isZero();
+        assertThat(list.frequency(0, RecipeField.INGREDIENTS)).isEqualTo(4);
+    }
+
+    @Test
+    void removeShiftsTheFollowingEntries() {
+        PostingList list = new PostingList();
+        for (int id = 1; id <= 5; id++) {
+            list.add(id, new int[] {id, 0, 0});
+        }
+
+        list.remove(2);
+        list.remove(9);
+
+        assertThat(list.toArray()).containsExactly(1, 3, 4, 5);
+        assertThat(list.contains(2)).isFalse();
+        assertThat(list.contains(3)).isTrue();
+        assertThat(list.frequency(1, RecipeField.TITLE)).isEqualTo(3);
+    }
+}
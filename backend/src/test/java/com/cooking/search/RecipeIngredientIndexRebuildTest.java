@@ -0,0 +1,53 @@
+package com.cooking.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reconstruction de l'index des ingrédients sur 100 000 recettes de 6 ingrédients :
+ * le parcours de la table de jointure doit rester linéaire (chaque lot lu dans l'ordre de la clé primaire).
+ * Base dédiée : les 600 000 liens ne restent pas dans la base des autres tests.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ingredient-index-rebuild")
+class RecipeIngredientIndexRebuildTest {
+
+    private static final int RECIPES = 100_000;
+    private static final int INGREDIENTS = 300;
+    private static final long FIRST_ID = 1_000_000L;
+    private static final long MAX_REBUILD_MS = 10_000;
+
+    @Autowired
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuildsAHundredThousandRecipesInLinearTime() {
+        int seeded = recipeIngredientIndex.recipeCount();
+        jdbcTemplate.update("INSERT INTO ingredients (id, name) SELECT " + FIRST_ID + " + X, 'ingrédient ' || X " +
+            "FROM SYSTEM_RANGE(1, " + INGREDIENTS + ")");
+        jdbcTemplate.update("INSERT INTO recipes (id, title, ingredients, instructions, keywords, created_at, author_id) " +
+            "SELECT " + FIRST_ID + " + X, 'Recette ' || X, '', '', '', CURRENT_TIMESTAMP, " +
+            "(SELECT MIN(id) FROM users) FROM SYSTEM_RANGE(1, " + RECIPES + ")");
+        // 6 ingrédients distincts par recette (k * 53 mod 300 ne se répète pas pour k < 6)
+        jdbcTemplate.update("INSERT INTO recipe_ingredients (recipe_id, ingredient_id) " +
+            "SELECT " + FIRST_ID + " + R.X, " + FIRST_ID + " + 1 + MOD(R.X * 7 + K.X * 53, " + INGREDIENTS + ") " +
+            "FROM SYSTEM_RANGE(1, " + RECIPES + ") R, SYSTEM_RANGE(0, 5) K");
+
+        long start = System.nanoTime();
+        recipeIngredientIndex.rebuild();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println("🥕 Reconstruction de l'index : " + (seeded + RECIPES) + " recettes en " + elapsedMs + " ms");
+
+        assertThat(recipeIngredientIndex.recipeCount()).isEqualTo(seeded + RECIPES);
+        assertThat(recipeIngredientIndex.ingredientsOf((int) (FIRST_ID + 42))).hasSize(6);
+        assertThat(elapsedMs).isLessThan(MAX_REBUILD_MS);
+    }
+}
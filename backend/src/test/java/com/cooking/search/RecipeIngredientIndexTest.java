@@ -0,0 +1,108 @@
+package com.cooking.search;
+
+import com.cooking.entity.Ingredient;
+import com.cooking.entity.Recipe;
+import com.cooking.event.RecipeChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeIngredientIndexTest {
+
+    private final RecipeIngredientIndex index = new RecipeIngredientIndex(null);
+    private final Map<String, Long> ingredientIds = new HashMap<>();
+
+    @Test
+    void pantryRanksRecipesByCoverage() {
+        add(1, "farine", "oeuf", "lait");
+        add(2, "farine", "oeuf");
+        add(3, "farine", "sucre", "beurre", "lait");
+        add(4, "sucre");
+
+        List<PantryMatch> matches = index.rankByPantry(List.of("farine", "oeufs"), 10);
+
+        // 2/2, 2/3, 1/4 ; la recette 4 ne contient rien du garde-manger
+        assertThat(ids(matches)).containsExactly(2, 1, 3);
+        assertThat(matches.get(0).getCoverage()).isEqualTo(1.0);
+        assertThat(matches.get(1).getMatchedCount()).isEqualTo(2);
+        assertThat(matches.get(1).getIngredientCount()).isEqualTo(3);
+    }
+
+    @Test
+    void equalCoverageFavoursFewerMissingThenMostRecent() {
+        add(1, "farine", "lait");
+        add(2, "farine", "oeuf", "lait", "sucre");
+        add(3, "oeuf", "sucre");
+
+        // Trois recettes à 1/2 : 1 et 3 n'ont qu'un manquant, 3 est la plus récente
+        assertThat(ids(index.rankByPantry(List.of("farine", "oeuf"), 10))).containsExactly(3, 1, 2);
+    }
+
+    @Test
+    void missingIngredientsAreNamed() {
+        add(1, "farine", "oeuf", "lait", "sucre");
+
+        PantryMatch match = index.rankByPantry(List.of("200 g de farine"), 10).get(0);
+
+        assertThat(match.getMissingCount()).isEqualTo(3);
+        assertThat(Arrays.stream(match.getMissingIngredientIds()).mapToObj(index::ingredientName))
+            .containsExactlyInAnyOrder("oeuf", "lait", "sucre");
+    }
+
+    @Test
+    void pantryWordMatchesEveryIngredientContainingIt() {
+        add(1, "chocolat noir", "beurre");
+        add(2, "chocolat blanc", "creme");
+        add(3, "pomme");
+
+        assertThat(ids(index.rankByPantry(List.of("chocolat", "beurre"), 10))).containsExactly(1, 2);
+    }
+
+    @Test
+    void limitKeepsTheBestAcrossSegments() {
+        // Identifiants répartis sur plusieurs segments de 2^16 évalués en parallèle
+        add(10, "farine", "oeuf");
+        add(70_000, "farine", "sucre", "lait");
+        add(140_000, "farine");
+        add(200_000, "farine", "lait");
+
+        assertThat(ids(index.rankByPantry(List.of("farine", "lait"), 2))).containsExactly(200_000, 140_000);
+        assertThat(index.rankByPantry(List.of("farine"), 0)).isEmpty();
+    }
+
+    @Test
+    void updatedAndDeletedRecipesAreRanked() {
+        add(1, "farine", "oeuf");
+        add(2, "farine", "sucre");
+        add(1, "riz", "lait");
+        index.onRecipeChanged(RecipeChangedEvent.deleted(2L));
+
+        assertThat(index.rankByPantry(List.of("farine"), 10)).isEmpty();
+        assertThat(ids(index.rankByPantry(List.of("riz"), 10))).containsExactly(1);
+        assertThat(index.recipeCount()).isEqualTo(1);
+    }
+
+    private void add(int recipeId, String... ingredientNames) {
+        Set<Ingredient> ingredients = new HashSet<>();
+        for (String name : ingredientNames) {
+            Ingredient ingredient = new Ingredient(name);
+            ingredient.setId(ingredientIds.computeIfAbsent(name, n -> (long) ingredientIds.size() + 1));
+            ingredients.add(ingredient);
+        }
+        Recipe recipe = new Recipe();
+        recipe.setId((long) recipeId);
+        recipe.setIngredientItems(ingredients);
+        index.onRecipeChanged(RecipeChangedEvent.created(recipe));
+    }
+
+    private static List<Integer> ids(List<PantryMatch> matches) {
+        return matches.stream().map(PantryMatch::getRecipeId).toList();
+    }
+}
@@ -0,0 +1,114 @@
+package com.cooking.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeSearchIndexTest {
+
+    private final RecipeSearchIndex index = new RecipeSearchIndex(null, new RecipeTrigramIndex(0.4f));
+
+    @Test
+    void tokenizerFoldsCaseAndAccentsAndDropsStopWords() {
+        assertThat(RecipeTextAnalyzer.tokenize("Crème brûlée à l'Œuf, 2 œufs"))
+            .containsExactly("creme", "brulee", "oeuf", "2", "oeufs");
+        assertThat(RecipeTextAnalyzer.tokenize("  ")).isEmpty();
+    }
+
+    @Test
+    void accentsAndCaseDoNotMatterOnEitherSide() {
+        index.index(1L, "Crème brûlée", "crème, sucre", "dessert");
+        index.index(2L, "Creme caramel", "lait, oeufs", "Dessert");
+
+        assertThat(ids(index.search("CRÈME", 10))).containsExactlyInAnyOrder(1, 2);
+        assertThat(ids(index.search("brulee", 10))).containsExactly(1);
+        assertThat(ids(index.search("œufs", 10))).containsExactly(2);
+    }
+
+    @Test
+    void onlyTheLastTermIsExpandedAsAPrefix() {
+        index.index(1L, "Tarte aux pommes", "", "");
+        index.index(2L, "Tartiflette", "", "");
+        index.index(3L, "Gratin de pommes de terre", "", "");
+
+        assertThat(ids(index.search("tart", 10))).containsExactlyInAnyOrder(1, 2);
+        assertThat(ids(index.search("pommes tar", 10))).containsExactly(1);
+        // Un terme qui n'est pas le dernier doit correspondre exactement
+        assertThat(index.search("tar pommes", 10).getTotalHits()).isZero();
+        // Préfixe d'un seul caractère : pas d'expansion
+        assertThat(index.search("t", 10).getTotalHits()).isZero();
+    }
+
+    @Test
+    void exactTermRanksAboveItsPrefixExpansions() {
+        index.index(1L, "Tartelette", "", "");
+        index.index(2L, "Tarte", "", "");
+
+        assertThat(ids(index.search("tarte", 10))).containsExactly(2, 1);
+    }
+
+    @Test
+    void updatesAndDeletesAreIncremental() {
+        index.index(1L, "Quiche lorraine", "lardons", "");
+        index.index(2L, "Quiche au saumon", "saumon", "");
+
+        index.index(1L, "Quiche aux poireaux", "poireaux", "");
+        assertThat(index.search("lorraine", 10).getTotalHits()).isZero();
+        assertThat(ids(index.search("poireaux", 10))).containsExactly(1);
+        assertThat(index.documentCount()).isEqualTo(2);
+
+        index.remove(2L);
+        assertThat(ids(index.search("quiche", 10))).containsExactly(1);
+        assertThat(index.search("saumon", 10).getTotalHits()).isZero();
+        assertThat(index.documentCount()).isEqualTo(1);
+        // Les listes vidées sortent de l'index : il reste quiche et poireaux
+        assertThat(index.termCount()).isEqualTo(2);
+
+        index.remove(1L);
+        index.remove(1L);
+        assertThat(index.termCount()).isZero();
+    }
+
+    @Test
+    void titleOutweighsKeywordsWhichOutweighIngredients() {
+        // Mêmes longueurs de champs partout : seul le poids du champ départage
+        index.index(1L, "basilic", "pates", "ail");
+        index.index(2L, "pizza", "tomate", "basilic");
+        index.index(3L, "salade", "basilic", "olive");
+        index.index(4L, "risotto", "parmesan", "riz");
+
+        assertThat(ids(index.search("basilic", 10))).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void pagesAreSlicesOfTheFullRanking() {
+        // Scores égaux par groupes : le départage (identifiant décroissant) doit être stable d'une page à l'autre
+        for (int id = 1; id <= 25; id++) {
+            index.index((long) id, id % 3 == 0 ? "soupe soupe" : "soupe", "potiron", "");
+        }
+        int[] full = index.search("soupe", Integer.MAX_VALUE).getRecipeIds();
+        assertThat(full).hasSize(25);
+
+        int size = 10;
+        List<Integer> paged = new ArrayList<>();
+        for (int page = 0; page * size < full.length; page++) {
+            // Comme RecipeService : seules les (page + 1) * size meilleures sont classées
+            SearchResult result = index.search("soupe", (page + 1) * size);
+            assertThat(result.getTotalHits()).isEqualTo(25);
+            int[] ranked = result.getRecipeIds();
+            for (int i = page * size; i < Math.min(ranked.length, (page + 1) * size); i++) {
+                paged.add(ranked[i]);
+            }
+        }
+        assertThat(paged).containsExactlyElementsOf(Arrays.stream(full).boxed().toList());
+        assertThat(paged.subList(0, 8)).containsExactly(24, 21, 18, 15, 12, 9, 6, 3);
+    }
+
+    private static List<Integer> ids(SearchResult result) {
+        return Arrays.stream(result.getRecipeIds()).boxed().toList();
+    }
+}
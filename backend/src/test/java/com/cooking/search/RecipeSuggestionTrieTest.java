@@ -0,0 +1,105 @@
+package com.cooking.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RecipeSuggestionTrieTest {
+
+    @Test
+    void growsPastItsInitialCapacityWithoutLosingEntries() {
+        RecipeSuggestionTrie trie = new RecipeSuggestionTrie(null, 100_000);
+        // Suffixe propre à chaque titre : plus de 5 000 nœuds, bien plus que les 1 024 alloués au départ
+        for (int i = 0; i < 500; i++) {
+            trie.index((long) i + 1, String.format("%05d Tarte maison", i), null);
+        }
+
+        assertThat((int) trie.getStats().get("capacity")).isGreaterThan(1024);
+        assertThat(trie.getStats().get("entries")).isEqualTo(500);
+        for (int i = 0; i < 500; i++) {
+            assertThat(texts(trie.suggest(String.format("%05d tarte", i), 5)))
+                .containsExactly(String.format("%05d Tarte maison", i));
+        }
+        assertThat(trie.suggest("0010", 50)).hasSize(10);
+    }
+
+    @Test
+    void compactsDeadNodesWhenMaxNodesIsReached() {
+        RecipeSuggestionTrie trie = new RecipeSuggestionTrie(null, 200);
+        // Chaque génération de titres est supprimée avant la suivante : sans compactage, les nœuds morts dépasseraient 200
+        for (int generation = 0; generation < 10; generation++) {
+            for (int i = 0; i < 3; i++) {
+                trie.index((long) i + 1, "Génération " + generation + " recette " + i + " xxxxxxx", null);
+            }
+            if (generation < 9) {
+                for (int i = 0; i < 3; i++) {
+                    trie.remove((long) i + 1);
+                }
+            }
+        }
+
+        assertThat((int) trie.getStats().get("nodes")).isLessThanOrEqualTo(200);
+        assertThat((int) trie.getStats().get("capacity")).isLessThanOrEqualTo(200);
+        assertThat(trie.getStats().get("droppedEntries")).isEqualTo(0L);
+        assertThat(texts(trie.suggest("generation 9", 10)))
+            .containsExactlyInAnyOrder("Génération 9 recette 0 xxxxxxx", "Génération 9 recette 1 xxxxxxx",
+                "Génération 9 recette 2 xxxxxxx");
+        assertThat(trie.suggest("generation 8", 10)).isEmpty();
+    }
+
+    @Test
+    void entriesThatStillDoNotFitAfterCompactionAreDropped() {
+        RecipeSuggestionTrie trie = new RecipeSuggestionTrie(null, 40);
+        trie.index(1L, "Tarte aux pommes du dimanche", null);
+        trie.index(2L, "Clafoutis aux cerises noires", null);
+
+        assertThat(trie.getStats().get("droppedEntries")).isEqualTo(1L);
+        assertThat(texts(trie.suggest("tarte", 5))).containsExactly("Tarte aux pommes du dimanche");
+        assertThat(trie.suggest("clafoutis", 5)).isEmpty();
+    }
+
+    @Test
+    void completionsAreRankedByPopularity() {
+        RecipeSuggestionTrie trie = new RecipeSuggestionTrie(null, 100_000);
+        // Tarte aux pommes x4, tarte (mot-clé) x3, Tarte aux poires x2, Tartiflette x1
+        trie.index(1L, "Tarte aux pommes", "tarte");
+        trie.index(2L, "Tarte aux poires", "tarte");
+        trie.index(3L, "Tartiflette", "hiver");
+        trie.index(4L, "Tarte aux pommes", null);
+        trie.index(5L, "Tarte aux pommes", "rapide");
+        trie.index(6L, "Tarte aux pommes", null);
+        trie.index(7L, "Tarte aux poires", "tarte");
+
+        List<RecipeSuggestionTrie.Suggestion> suggestions = trie.suggest("Tar", 3);
+
+        assertThat(texts(suggestions)).containsExactly("Tarte aux pommes", "tarte", "Tarte aux poires");
+        assertThat(suggestions).extracting(RecipeSuggestionTrie.Suggestion::getPopularity).containsExactly(4, 3, 2);
+        assertThat(texts(trie.suggest("tar", 10))).hasSize(4).endsWith("Tartiflette");
+    }
+
+    @Test
+    void removedRecipesNoLongerCount() {
+        RecipeSuggestionTrie trie = new RecipeSuggestionTrie(null, 100_000);
+        trie.index(1L, "Soupe à l'oignon", "soupe");
+        trie.index(2L, "Soupe de potiron", "soupe");
+
+        trie.remove(1L);
+        assertThat(trie.suggest("soupe", 10))
+            .extracting(RecipeSuggestionTrie.Suggestion::getText, RecipeSuggestionTrie.Suggestion::getPopularity)
+            .containsExactlyInAnyOrder(tuple("soupe", 1), tuple("Soupe de potiron", 1));
+        assertThat(trie.suggest("soupe a", 10)).isEmpty();
+
+        // Une mise à jour retire les anciennes complétions de la recette
+        trie.index(2L, "Velouté de potiron", null);
+        assertThat(trie.suggest("soupe", 10)).isEmpty();
+        assertThat(texts(trie.suggest("velo", 10))).containsExactly("Velouté de potiron");
+        assertThat(trie.getStats().get("entries")).isEqualTo(1);
+    }
+
+    private static List<String> texts(List<RecipeSuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(RecipeSuggestionTrie.Suggestion::getText).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.cooking.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeTrigramIndexTest {
+
+    private final RecipeTrigramIndex index = new RecipeTrigramIndex(0.4f);
+
+    @Test
+    void reindexingKeepsTermIdsBoundedByVocabulary() {
+        for (int i = 0; i < 10_000; i++) {
+            index.index(1, Set.of("tarte", "pommes", "variante" + (i % 3)));
+        }
+        assertThat(index.termCount()).isEqualTo(3);
+        assertThat(index.allocatedTermIds()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void deleteAndCreateRecyclesTermIds() {
+        for (int i = 0; i < 1_000; i++) {
+            index.index(i, Set.of("gratin", "dauphinois"));
+            index.remove(i);
+        }
+        assertThat(index.termCount()).isZero();
+        assertThat(index.allocatedTermIds()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void recycledIdsStillMatchFuzzyQueries() {
+        index.index(1, Set.of("ratatouille"));
+        index.remove(1);
+        index.index(2, Set.of("clafoutis"));
+        index.index(3, Set.of("ratatouille"));
+
+        assertThat(index.similarTerms("ratatouile")).containsOnlyKeys("ratatouille");
+        assertThat(index.similarTerms("clafouti")).containsOnlyKeys("clafoutis");
+    }
+
+    @Test
+    void termKeptAcrossUpdateIsNotRenumbered() {
+        index.index(1, Set.of("quiche", "lorraine"));
+        index.index(1, Set.of("quiche", "saumon"));
+
+        assertThat(index.termCount()).isEqualTo(2);
+        assertThat(index.similarTerms("quiche")).containsKey("quiche");
+        assertThat(index.similarTerms("lorraine")).isEmpty();
+    }
+}
@@ -0,0 +1,46 @@
+package com.cooking.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopHitsTest {
+
+    @Test
+    void keepsTheBestScoresInDescendingOrder() {
+        TopHits top = new TopHits(3);
+        float[] scores = {0.5f, 2f, 0.1f, 3f, 1f, 2.5f};
+        for (int id = 0; id < scores.length; id++) {
+            top.offer(id, scores[id]);
+        }
+
+        assertThat(top.drainDescending()).containsExactly(3, 5, 1);
+    }
+
+    @Test
+    void tiesFavourTheMostRecentRecipe() {
+        TopHits top = new TopHits(2);
+        for (int id = 1; id <= 5; id++) {
+            top.offer(id, 1f);
+        }
+
+        assertThat(top.drainDescending()).containsExactly(5, 4);
+    }
+
+    @Test
+    void holdsFewerHitsThanItsCapacity() {
+        TopHits top = new TopHits(10);
+        top.offer(7, 1f);
+        top.offer(3, 2f);
+
+        assertThat(top.drainDescending()).containsExactly(3, 7);
+    }
+
+    @Test
+    void zeroCapacityKeepsNothing() {
+        TopHits top = new TopHits(0);
+        top.offer(1, 1f);
+
+        assertThat(top.drainDescending()).isEmpty();
+    }
+}
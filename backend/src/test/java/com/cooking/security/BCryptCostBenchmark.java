@@ -0,0 +1,69 @@
+package com.cooking.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durée d'un hachage BCrypt par coût sur la machine courante, et coût à configurer
+ * (app.security.password-hashing.cost) pour une latence cible donnée en argument (250 ms par défaut).
+ * mvn -Pbenchmarks test -Dbenchmark=com.cooking.security.BCryptCostBenchmark -Dbenchmark.args=250
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class BCryptCostBenchmark {
+
+    @Param({"10", "11", "12", "13", "14"})
+    public int cost;
+
+    private String salt;
+
+    @Setup
+    public void setUp() {
+        salt = BCrypt.gensalt(cost);
+    }
+
+    @Benchmark
+    public String hash() {
+        return BCrypt.hashpw("correct horse battery staple", salt);
+    }
+
+    public static void main(String[] args) throws Exception {
+        long targetLatencyMs = args.length > 0 ? Long.parseLong(args[0]) : 250;
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(BCryptCostBenchmark.class.getName())
+            .build()).run();
+
+        // Coût le plus élevé dont la moyenne mesurée tient dans la cible (le minimum sinon)
+        int chosen = BCryptCostCalibrator.MIN_COST;
+        for (RunResult result : results) {
+            int cost = Integer.parseInt(result.getParams().getParam("cost"));
+            double meanMs = result.getPrimaryResult().getScore();
+            System.out.printf("coût %d : %.1f ms%n", cost, meanMs);
+            if (meanMs <= targetLatencyMs && cost > chosen) {
+                chosen = cost;
+            }
+        }
+        System.out.printf("🔐 Cible %d ms : app.security.password-hashing.cost=%d (calibrage au démarrage : %d)%n",
+            targetLatencyMs, chosen, BCryptCostCalibrator.calibrate(targetLatencyMs));
+    }
+}
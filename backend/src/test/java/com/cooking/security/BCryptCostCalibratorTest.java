@@ -0,0 +1,57 @@
+package com.cooking.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.IntToLongFunction;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Extrapolation du coût à partir de durées simulées (les vraies mesures sont dans BCryptCostBenchmark)
+ */
+class BCryptCostCalibratorTest {
+
+    private static final long MS = 1_000_000;
+
+    // 10 ms au coût minimal : 20, 40, 80, 160, 320 ms aux coûts suivants
+    private static final IntToLongFunction TEN_MS = cost -> 10 * MS;
+
+    @Test
+    void costStaysWithinBounds() {
+        assertThat(BCryptCostCalibrator.calibrate(0, TEN_MS)).isEqualTo(BCryptCostCalibrator.MIN_COST);
+        assertThat(BCryptCostCalibrator.calibrate(Long.MAX_VALUE, TEN_MS)).isEqualTo(BCryptCostCalibrator.MAX_COST);
+    }
+
+    @Test
+    void picksTheHighestCostWhoseEstimateFitsTheTarget() {
+        assertThat(BCryptCostCalibrator.calibrate(250, TEN_MS)).isEqualTo(14);
+        assertThat(BCryptCostCalibrator.calibrate(160, TEN_MS)).isEqualTo(14);
+        assertThat(BCryptCostCalibrator.calibrate(159, TEN_MS)).isEqualTo(13);
+    }
+
+    @Test
+    void doublingTheTargetRaisesTheCostByOnePoint() {
+        int cost = BCryptCostCalibrator.calibrate(200, TEN_MS);
+
+        assertThat(BCryptCostCalibrator.calibrate(400, TEN_MS)).isEqualTo(cost + 1);
+    }
+
+    // Premier appel = échauffement ignoré, puis le meilleur des essais : un pic isolé ne baisse pas le coût
+    @Test
+    void ignoresTheWarmUpAndKeepsTheBestSample() {
+        PrimitiveIterator.OfLong timings = LongStream.of(500 * MS, 40 * MS, 10 * MS, 90 * MS).iterator();
+        List<Integer> costs = new ArrayList<>();
+
+        int cost = BCryptCostCalibrator.calibrate(250, c -> {
+            costs.add(c);
+            return timings.nextLong();
+        });
+
+        assertThat(cost).isEqualTo(14);
+        assertThat(costs).containsOnly(BCryptCostCalibrator.MIN_COST).hasSize(4);
+    }
+}
@@ -0,0 +1,212 @@
+package com.cooking.service;
+
+import com.cooking.entity.EmailCampaign;
+import com.cooking.entity.OutboxEmail;
+import com.cooking.repository.EmailCampaignRepository;
+import com.cooking.repository.OutboxEmailRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Campagnes envoyées à un serveur SMTP en mémoire (GreenMail) par le vrai EmailService :
+ * pages de 10 destinataires, lots de 4, 40 messages/s. Les tâches planifiées sont espacées
+ * d'une heure, chaque test lance lui-même le runner. Base dédiée : les destinataires créés ici
+ * ne doivent pas recevoir les campagnes des autres tests.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:campaign-smtp",
+    "spring.mail.host=localhost",
+    "spring.mail.port=3025",
+    "spring.mail.properties.mail.smtp.auth=false",
+    "spring.mail.properties.mail.smtp.starttls.enable=false",
+    "app.mail.campaign.poll-interval-ms=3600000",
+    "app.mail.outbox.poll-interval-ms=3600000",
+    "app.mail.campaign.page-size=10",
+    "app.mail.campaign.batch-size=4",
+    "app.mail.campaign.connections=2",
+    "app.mail.campaign.rate-per-second=40"})
+@ActiveProfiles("smtp")
+class CampaignRunnerSmtpTest {
+
+    private static final double RATE_PER_SECOND = 40;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private CampaignRunner campaignRunner;
+
+    @Autowired
+    private CampaignService campaignService;
+
+    @Autowired
+    private EmailCampaignRepository campaignRepository;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void removeRecipients() {
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'destinataire%'");
+        jdbcTemplate.update("DELETE FROM email_outbox");
+    }
+
+    @Test
+    void sendsEveryPageAtTheConfiguredRate() throws Exception {
+        List<Long> ids = insertRecipients(25, Set.of());
+        Long campaignId = startCampaign();
+        long pageQueries = recipientPageQueries();
+
+        long start = System.nanoTime();
+        campaignRunner.run();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Chacun reçoit exactement un message, rendu avec son nom
+        Map<String, Integer> received = receivedByRecipient();
+        assertThat(received).hasSize(25).allSatisfy((recipient, count) -> assertThat(count).isEqualTo(1));
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            String recipient = message.getAllRecipients()[0].toString();
+            assertThat(GreenMailUtil.getBody(message)).isEqualTo("Bonjour " + recipient.substring(0, recipient.indexOf('@')));
+        }
+
+        // Pages de 10, 10 et 5 puis une page vide qui termine la campagne
+        assertThat(recipientPageQueries() - pageQueries).isEqualTo(4);
+        EmailCampaign campaign = campaignRepository.findById(campaignId).orElseThrow();
+        assertThat(campaign.getStatus()).isEqualTo(EmailCampaign.Status.COMPLETED);
+        assertThat(campaign.getSentCount()).isEqualTo(25);
+        assertThat(campaign.getFailedCount()).isZero();
+        assertThat(campaign.getLastUserId()).isEqualTo(ids.get(ids.size() - 1));
+
+        // Le dernier lot (1 message) n'a pas pu partir avant que les 24 précédents aient eu leur créneau
+        assertThat(elapsedMs).isGreaterThanOrEqualTo((long) (24 * 1000 / RATE_PER_SECOND));
+    }
+
+    @Test
+    void failedMessagesGoToTheOutbox() throws Exception {
+        insertRecipients(12, Set.of(3, 8));
+        Long campaignId = startCampaign();
+
+        campaignRunner.run();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(10);
+        EmailCampaign campaign = campaignRepository.findById(campaignId).orElseThrow();
+        assertThat(campaign.getStatus()).isEqualTo(EmailCampaign.Status.COMPLETED);
+        assertThat(campaign.getSentCount()).isEqualTo(10);
+        assertThat(campaign.getFailedCount()).isEqualTo(2);
+
+        // Les deux échecs attendent une nouvelle tentative dans la file d'emails
+        List<OutboxEmail> pending = outboxEmailRepository
+            .findByStatusOrderByIdDesc(OutboxEmail.Status.PENDING, PageRequest.of(0, 10)).getContent();
+        assertThat(pending).extracting(OutboxEmail::getRecipient)
+            .containsExactlyInAnyOrder("adresse invalide 3", "adresse invalide 8");
+        assertThat(pending).extracting(OutboxEmail::getSubject).containsOnly("Nouveautés");
+    }
+
+    @Test
+    void interruptedRunResumesAfterTheLastRecordedPage() throws Exception {
+        List<Long> ids = insertRecipients(40, Set.of());
+        Long campaignId = startCampaign();
+
+        // Arrêt de l'application simulé : interruption dès qu'une page a été enregistrée
+        Thread sender = new Thread(campaignRunner::run, "campaign-test");
+        sender.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (campaignRepository.findById(campaignId).orElseThrow().getLastUserId() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        sender.interrupt();
+        sender.join(TimeUnit.SECONDS.toMillis(10));
+
+        EmailCampaign interrupted = campaignRepository.findById(campaignId).orElseThrow();
+        long checkpoint = interrupted.getLastUserId();
+        assertThat(interrupted.getStatus()).isEqualTo(EmailCampaign.Status.RUNNING);
+        assertThat(checkpoint).isIn(ids.get(9), ids.get(19), ids.get(29));
+
+        campaignRunner.run();
+
+        EmailCampaign campaign = campaignRepository.findById(campaignId).orElseThrow();
+        assertThat(campaign.getStatus()).isEqualTo(EmailCampaign.Status.COMPLETED);
+        assertThat(campaign.getLastUserId()).isEqualTo(ids.get(ids.size() - 1));
+        // La page interrompue n'a été enregistrée qu'une fois, à la reprise
+        assertThat(campaign.getSentCount()).isEqualTo(40);
+
+        // Avant le point de reprise : un seul envoi ; après : au moins un (la page interrompue peut être renvoyée)
+        Map<String, Integer> received = receivedByRecipient();
+        for (int i = 0; i < ids.size(); i++) {
+            Integer count = received.get(email(i + 1));
+            if (ids.get(i) <= checkpoint) {
+                assertThat(count).as(email(i + 1)).isEqualTo(1);
+            } else {
+                assertThat(count).as(email(i + 1)).isNotNull().isPositive();
+            }
+        }
+    }
+
+    private Long startCampaign() {
+        Long id = campaignService.createCampaign("Nouveautés", "Bonjour {{userName}}", false, "admin").getId();
+        campaignService.startCampaign(id);
+        return id;
+    }
+
+    /** Destinataires vérifiés, insérés en SQL pour que les adresses invalides passent la validation */
+    private List<Long> insertRecipients(int count, Set<Integer> invalid) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            String email = invalid.contains(i) ? "adresse invalide " + i : email(i);
+            jdbcTemplate.update("INSERT INTO users (username, email, password, enabled, email_verified, role, created_at) " +
+                "VALUES (?, ?, 'x', TRUE, TRUE, 'USER', CURRENT_TIMESTAMP)", "destinataire" + i, email);
+            ids.add(jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, "destinataire" + i));
+        }
+        return ids;
+    }
+
+    private static String email(int position) {
+        return "destinataire" + position + "@cooking.test";
+    }
+
+    private static Map<String, Integer> receivedByRecipient() throws Exception {
+        Map<String, Integer> received = new HashMap<>();
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            received.merge(message.getAllRecipients()[0].toString(), 1, Integer::sum);
+        }
+        return received;
+    }
+
+    private long recipientPageQueries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String query : statistics.getQueries()) {
+            if (query.contains("CampaignRecipient")) {
+                return statistics.getQueryStatistics(query).getExecutionCount();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.cooking.service;
+
+import com.cooking.email.EmailTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Email de bienvenue : gabarit précompilé contre l'ancien String.format sur le même HTML
+ * (temps par rendu et octets alloués, profileur GC).
+ * mvn -Pbenchmarks test -Dbenchmark=com.cooking.service.EmailTemplateBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{\\s*(\\w+)\\s*}}");
+
+    private final String[] values = { "Camille", "camille", "camille@example.com", "Utilisateur", "http://localhost:3000" };
+
+    private EmailTemplate template;
+    private String format;
+
+    @Setup
+    public void setUp() {
+        template = EmailTemplate.compile(EmailService.WELCOME_HTML, EmailService.WELCOME_VARIABLES);
+        format = toFormat(EmailService.WELCOME_HTML, EmailService.WELCOME_VARIABLES);
+        // Les deux variantes doivent produire le même email (valeurs sans caractère à échapper)
+        if (!template.render(values).equals(String.format(format, (Object[]) values))) {
+            throw new IllegalStateException("Le gabarit et String.format ne produisent pas le même HTML");
+        }
+    }
+
+    @Benchmark
+    public String precompiledTemplate() {
+        return template.render(values);
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(format, (Object[]) values);
+    }
+
+    // Ancienne forme du gabarit : % doublés et {{nom}} remplacés par des arguments positionnels
+    static String toFormat(String source, String[] variables) {
+        List<String> names = Arrays.asList(variables);
+        Matcher matcher = VARIABLE.matcher(source.replace("%", "%%"));
+        StringBuilder format = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(format, "%" + (names.indexOf(matcher.group(1)) + 1) + "\\$s");
+        }
+        matcher.appendTail(format);
+        return format.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(EmailTemplateBenchmark.class.getName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
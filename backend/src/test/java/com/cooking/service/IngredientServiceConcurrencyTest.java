@@ -0,0 +1,88 @@
+package com.cooking.service;
+
+import com.cooking.entity.Ingredient;
+import com.cooking.repository.IngredientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class IngredientServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentResolutionsOfTheSameNewNamesAllSucceed() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // Mêmes ingrédients inconnus demandés au même instant par toutes les transactions
+                Set<String> names = new LinkedHashSet<>();
+                for (int i = 0; i < 5; i++) {
+                    names.add("concurrent-" + round + "-" + i);
+                }
+                CyclicBarrier start = new CyclicBarrier(THREADS);
+                List<Future<Map<String, Long>>> results = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return transaction.execute(status -> idsOf(ingredientService.resolveNames(names)));
+                    }));
+                }
+
+                Map<String, Long> first = results.get(0).get();
+                assertThat(first).containsOnlyKeys(names);
+                for (Future<Map<String, Long>> result : results) {
+                    // Un seul ingrédient par nom, vu par toutes les transactions
+                    assertThat(result.get()).isEqualTo(first);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void createdIngredientsBelongToTheCallerTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            assertThat(ingredientService.resolveNames(Set.of("annulé-avec-la-recette"))).containsKey("annulé-avec-la-recette");
+            status.setRollbackOnly();
+        });
+
+        // Aucune transaction à part : l'annulation de l'appelant emporte l'ingrédient créé
+        assertThat(ingredientRepository.findByName("annulé-avec-la-recette")).isEmpty();
+    }
+
+    private static Map<String, Long> idsOf(Map<String, Ingredient> ingredients) {
+        Map<String, Long> ids = new HashMap<>();
+        ingredients.forEach((name, ingredient) -> ids.put(name, ingredient.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,128 @@
+package com.cooking.service;
+
+import com.cooking.search.RecipeIngredientIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export NDJSON d'un million de recettes dans une JVM à petit tas (-Xmx64m) :
+ * la base est un fichier H2 (une base mémoire vivrait elle-même dans le tas mesuré)
+ * et l'export tourne dans un processus séparé, hors du contexte Spring des autres tests.
+ * Test long (~80 s) : mvn -Pslow test
+ */
+@Tag("slow")
+class RecipeExportMemoryTest {
+
+    private static final int RECIPES = 1_000_000;
+    private static final String HEAP = "-Xmx64m";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void exportsAMillionRecipesInASmallHeap() throws Exception {
+        String url = "jdbc:h2:file:" + directory.resolve("export").toAbsolutePath();
+        populate(url);
+
+        Path output = directory.resolve("export.out");
+        Process child = new ProcessBuilder(javaExecutable(), HEAP, "-cp", testClassPath(),
+                Export.class.getName(), url)
+            .redirectErrorStream(true)
+            .redirectOutput(output.toFile())
+            .start();
+        assertThat(child.waitFor(10, TimeUnit.MINUTES)).as("export terminé").isTrue();
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        lines.forEach(line -> System.out.println("📦 " + line));
+        assertThat(child.exitValue()).as(String.join("\n", lines)).isZero();
+        assertThat(lines).contains("lines=" + RECIPES);
+    }
+
+    // Schéma réel (migrations Flyway) et un million de recettes générées par H2
+    private static void populate(String url) {
+        SimpleDriverDataSource dataSource = dataSource(url);
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (id, username, email, password, role, enabled, email_verified, " +
+            "created_at, updated_at) VALUES (1, 'chef', 'chef@example.com', 'x', 'CHEF', TRUE, TRUE, " +
+            "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO recipes (id, title, ingredients, instructions, keywords, created_at, author_id) " +
+            "SELECT X, 'Recette ' || X, 'farine, sucre, œufs, beurre, lait ' || X, " +
+            "REPEAT('Mélanger puis cuire 20 minutes. ', 6), 'dessert, facile', " +
+            "DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'), 1 FROM SYSTEM_RANGE(1, " + RECIPES + ")");
+        jdbc.execute("SHUTDOWN");
+    }
+
+    private static SimpleDriverDataSource dataSource(String url) {
+        return new SimpleDriverDataSource(new org.h2.Driver(), url, "sa", "");
+    }
+
+    private static String javaExecutable() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static String testClassPath() {
+        return System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+    }
+
+    /**
+     * Processus enfant : export vers un flux qui ne garde que le nombre de lignes et d'octets
+     */
+    public static class Export {
+
+        public static void main(String[] args) throws Exception {
+            SimpleDriverDataSource dataSource = dataSource(args[0]);
+            RecipeExportService service = new RecipeExportService(new JdbcTemplate(dataSource),
+                new DataSourceTransactionManager(dataSource), new ObjectMapper(),
+                new RecipeIngredientIndex(null), 500);
+
+            CountingOutputStream out = new CountingOutputStream();
+            long start = System.nanoTime();
+            long exported = service.exportRecipes(out);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            System.out.println("exported=" + exported + " bytes=" + out.bytes + " ms=" + elapsedMs
+                + " maxHeap=" + Runtime.getRuntime().maxMemory() / (1024 * 1024) + "MB");
+            System.out.println("lines=" + out.lines);
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        long bytes;
+        long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
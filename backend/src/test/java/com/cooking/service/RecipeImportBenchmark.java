@@ -0,0 +1,199 @@
+package com.cooking.service;
+
+import com.cooking.CookingApplication;
+import com.cooking.dto.RecipeImportReport;
+import com.cooking.importer.RecipeImportReader;
+import com.cooking.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de l'import en masse (NDJSON, lots de app.import.batch-size, écouteurs d'index après commit actifs)
+ * comparé au plancher du schéma : les mêmes lignes insérées en lots JDBC bruts, sans Hibernate ni index en mémoire.
+ * Une opération = 1 000 recettes de 6 ingrédients ; le débit en recettes/s est affiché à la fin.
+ * Échauffement long : sur une machine à un cœur, la compilation JIT de Spring et Hibernate dure plus d'une minute.
+ * La base H2 en mémoire grandit dans le tas à chaque itération, d'où -Xmx4g (sinon le GC finit par dominer).
+ * mvn -Pbenchmarks test -Dbenchmark=com.cooking.service.RecipeImportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 6, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RecipeImportBenchmark {
+
+    static final int RECIPES_PER_OP = 1_000;
+    private static final double TARGET_PER_SECOND = 20_000;
+    private static final int BATCH_SIZE = 500;
+
+    private ConfigurableApplicationContext context;
+    private RecipeImportService recipeImportService;
+    private ObjectMapper objectMapper;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transaction;
+    private Long chef;
+    private List<Long> ingredientIds;
+    private int next;
+    private long nextRawId = 1_000_000_000L;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Base dédiée : rien ne reste dans la base mémoire des autres exécutions
+        context = new SpringApplicationBuilder(CookingApplication.class)
+            .run("--server.port=0", "--spring.main.banner-mode=off", "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:import-benchmark");
+        recipeImportService = context.getBean(RecipeImportService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        chef = context.getBean(UserRepository.class).findByUsername("chef").orElseThrow().getId();
+
+        // Un premier import crée le catalogue d'ingrédients utilisé aussi par le plancher JDBC
+        importService();
+        ingredientIds = jdbc.queryForList("SELECT id FROM ingredients ORDER BY id", Long.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RecipeImportReport importService() throws IOException {
+        try (RecipeImportReader reader = RecipeImportReader.ndjson(new CatalogReader(next, RECIPES_PER_OP), objectMapper)) {
+            next += RECIPES_PER_OP;
+            return recipeImportService.importRecipes(reader, chef);
+        }
+    }
+
+    // Mêmes lignes (recette + 6 liens) en INSERT JDBC groupés, une transaction par lot
+    @Benchmark
+    public int rawJdbc() {
+        int inserted = 0;
+        for (int from = 0; from < RECIPES_PER_OP; from += BATCH_SIZE) {
+            List<Object[]> recipes = new ArrayList<>(BATCH_SIZE);
+            List<Object[]> links = new ArrayList<>(BATCH_SIZE * 6);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                long id = nextRawId++;
+                int n = next++;
+                recipes.add(new Object[] { id, CatalogReader.title(n), CatalogReader.ingredients(n, "\n"),
+                    CatalogReader.INSTRUCTIONS, CatalogReader.keywords(n), now, chef });
+                for (int k = 0; k < 6; k++) {
+                    links.add(new Object[] { id, ingredientIds.get((n * 7 + k * 53) % ingredientIds.size()) });
+                }
+            }
+            transaction.executeWithoutResult(status -> {
+                jdbc.batchUpdate("INSERT INTO recipes (id, title, ingredients, instructions, keywords, " +
+                    "created_at, author_id) VALUES (?, ?, ?, ?, ?, ?, ?)", recipes);
+                jdbc.batchUpdate("INSERT INTO recipe_ingredients (recipe_id, ingredient_id) VALUES (?, ?)", links);
+            });
+            inserted += recipes.size();
+        }
+        return inserted;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(RecipeImportBenchmark.class.getName())
+            .build()).run();
+        for (RunResult result : results) {
+            double perSecond = RECIPES_PER_OP * 1000.0 / result.getPrimaryResult().getScore();
+            System.out.printf("📥 %s : %.0f recettes/s (objectif %.0f)%n",
+                result.getParams().getBenchmark(), perSecond, TARGET_PER_SECOND);
+        }
+    }
+
+    /**
+     * Catalogue NDJSON généré à la volée : 6 ingrédients parmi 300, titres et mots-clés variés
+     */
+    static class CatalogReader extends Reader {
+
+        static final String INSTRUCTIONS = "Préchauffer le four. Mélanger les ingrédients puis cuire 30 minutes.";
+
+        private static final String[] WORDS = {
+            "tarte", "gratin", "soupe", "salade", "poulet", "saumon", "risotto", "crumble", "curry", "quiche",
+            "citron", "tomate", "chocolat", "pomme", "poireau", "carotte", "courgette", "basilic", "fromage", "lentille"
+        };
+
+        private final int end;
+        private int next;
+        private String line = "";
+        private int position;
+
+        CatalogReader(int first, int count) {
+            this.next = first;
+            this.end = first + count;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == line.length()) {
+                if (next == end) {
+                    return -1;
+                }
+                line = recipe(next++);
+                position = 0;
+            }
+            int n = Math.min(length, line.length() - position);
+            line.getChars(position, position + n, buffer, offset);
+            position += n;
+            return n;
+        }
+
+        static String title(int i) {
+            return WORDS[i % WORDS.length] + " " + WORDS[(i / 7) % WORDS.length] + " n°" + i;
+        }
+
+        static String ingredients(int i, String separator) {
+            StringBuilder ingredients = new StringBuilder();
+            for (int k = 0; k < 6; k++) {
+                int ingredient = (i * 7 + k * 53) % 300;
+                ingredients.append(k == 0 ? "" : separator).append(100 + k * 50).append(" g de ")
+                    .append(WORDS[ingredient % WORDS.length]).append(' ').append(WORDS[(ingredient / WORDS.length) % WORDS.length]);
+            }
+            return ingredients.toString();
+        }
+
+        static String keywords(int i) {
+            return WORDS[(i / 3) % WORDS.length] + ", maison";
+        }
+
+        private static String recipe(int i) {
+            return "{\"title\":\"" + title(i) + "\",\"ingredients\":\"" + ingredients(i, "\\n")
+                + "\",\"instructions\":\"" + INSTRUCTIONS + "\",\"keywords\":\"" + keywords(i) + "\"}\n";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.cooking.service;
+
+import com.cooking.dto.RecipeRequest;
+import com.cooking.entity.Recipe;
+import com.cooking.entity.User;
+import com.cooking.repository.RecipeRepository;
+import com.cooking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RecipeVersionTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User chef;
+    private User reader;
+
+    @BeforeEach
+    void loadUsers() {
+        chef = userRepository.findByUsername("chef").orElseThrow();
+        reader = userRepository.findByUsername("user").orElseThrow();
+    }
+
+    @Test
+    void commentCommittedDuringAnEditDoesNotFailTheEdit() {
+        Long id = recipeService.createRecipe(request("Gratin"), chef.getId()).getId();
+        String before = recipeService.getRecipeVersion(id).tag();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Recipe editing = recipeRepository.findById(id).orElseThrow();
+            // Commentaire validé par une autre transaction pendant la modification
+            CompletableFuture.runAsync(() ->
+                commentService.addComment("Délicieux", reader, recipeService.getRecipeById(id))).join();
+            editing.setTitle("Gratin dauphinois");
+        });
+
+        assertThat(recipeService.getRecipeById(id).getTitle()).isEqualTo("Gratin dauphinois");
+        assertThat(recipeService.getRecipeVersion(id).tag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void commentsChangeTheTagWithoutTouchingTheLockVersion() {
+        Recipe recipe = recipeService.createRecipe(request("Quiche"), chef.getId());
+        long lockVersion = recipeService.getRecipeVersion(recipe.getId()).getVersion();
+        String before = recipeService.getRecipeVersion(recipe.getId()).tag();
+
+        commentService.addComment("Parfait", reader, recipe);
+
+        assertThat(recipeService.getRecipeVersion(recipe.getId()).getVersion()).isEqualTo(lockVersion);
+        assertThat(recipeService.getRecipeVersion(recipe.getId()).tag()).isNotEqualTo(before);
+    }
+
+    private static RecipeRequest request(String title) {
+        RecipeRequest request = new RecipeRequest();
+        request.setTitle(title);
+        request.setIngredients("pommes de terre, crème, ail");
+        return request;
+    }
+}
@@ -10,6 +10,7 @@ const RecipesPage = () => {
   const [searchParams, setSearchParams] = useSearchParams();
   const [searchQuery, setSearchQuery] = useState(searchParams.get('search') || '');
   const [categoryFilter, setCategoryFilter] = useState(searchParams.get('category') || '');
+  const [suggestions, setSuggestions] = useState([]);
 
   const categories = ['Entrée', 'Plat principal', 'Dessert', 'Boisson', 'Apéritif'];
 
@@ -17,6 +18,24 @@ const RecipesPage = () => {
     loadRecipes();
   }, [searchParams]);
 
+  // Autocomplétion pendant la saisie (sans lancer de recherche complète)
+  useEffect(() => {
+    const prefix = searchQuery.trim();
+    if (prefix.length < 2) {
+      setSuggestions([]);
+      return;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        const result = await recipeService.suggestRecipes(prefix);
+        setSuggestions(result.suggestions ?? []);
+      } catch (error) {
+        setSuggestions([]);
+      }
+    }, 150);
+    return () => clearTimeout(timer);
+  }, [searchQuery]);
+
   const loadRecipes = async () => {
     try {
       setLoading(true);
@@ -100,7 +119,13 @@ const RecipesPage = () => {
                   className="w-full pl-12 pr-4 py-3 bg-gray-700/50 border border-gray-600 rounded-lg text-white placeholder-gray-400 focus:outline-none focus:ring-2 focus:ring-blue-500 focus:border-transparent transition-all duration-200"
                   value={searchQuery}
                   onChange={(e) => setSearchQuery(e.target.value)}
+                  list="recipe-suggestions"
                 />
+                <datalist id="recipe-suggestions">
+                  {suggestions.map((suggestion) => (
+                    <option key={suggestion.text} value={suggestion.text} />
+                  ))}
+                </datalist>
                 <span className="absolute left-4 top-1/2 transform -translate-y-1/2 text-gray-400 text-lg">
                   🔍
                 </span>
@@ -215,7 +240,7 @@ const RecipesPage = () => {
                     </div>
 
                     <p className="text-white/80 text-sm mb-4 leading-relaxed line-clamp-3">
-                      {recipe.description || recipe.ingredients?.substring(0, 120) + '...' || 'Description non disponible'}
+                      {recipe.description || recipe.teaser || 'Description non disponible'}
                     </p>
 
                     <div className="space-y-2 text-sm text-white/70">
@@ -6,6 +6,9 @@ import LoadingSpinner from '../components/common/LoadingSpinner';
 import Alert from '../components/common/Alert';
 import userService from '../services/userService';
 
+// Colonnes du tableau et de la fiche détaillée (les compteurs sont calculés en base)
+const TABLE_FIELDS = 'id,username,email,role,status,createdAt,recipesCount,commentsCount';
+
 const UserManagementPage = () => {
   const { user, isAuthenticated } = useAuth();
   const [users, setUsers] = useState([]);
@@ -63,7 +66,7 @@ const UserManagementPage = () => {
     try {
       setLoading(true);
       setError(null);
-      const userData = await userService.getAllUsers();
+      const userData = await userService.getAllUsers(TABLE_FIELDS);
       setUsers(userData);
     } catch (err) {
       console.error('Erreur lors du chargement des utilisateurs:', err);
@@ -33,6 +33,13 @@ const recipeService = {
     return response.data;
   },
 
+  async suggestRecipes(prefix, limit = 8) {
+    const response = await api.get('/recipes/suggest', {
+      params: { prefix, limit }
+    });
+    return response.data;
+  },
+
   async getRecipesByCategory(category) {
     const response = await api.get(`/recipes/category/${category}`);
     return response.data;
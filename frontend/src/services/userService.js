@@ -36,11 +36,12 @@ function handleError(error) {
 const userService = {
   /**
    * Récupérer tous les utilisateurs (admin)
+   * @param {string} [fields] - champs à renvoyer, ex. 'id,username,email' (tous par défaut)
    * @returns {Promise<Array>}
    */
-  async getAllUsers() {
+  async getAllUsers(fields) {
     try {
-      const { data } = await apiClient.get('/users');
+      const { data } = await apiClient.get('/users', { params: fields ? { fields } : {} });
       return data;
     } catch (error) {
       handleError(error);